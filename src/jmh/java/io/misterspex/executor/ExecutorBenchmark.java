@@ -0,0 +1,102 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the wrapper overhead of the {@link Executor} implementations.
+ * <p>{@link #baseline()} calls the executable directly and is the reference for all other benchmarks.</p>
+ *
+ * @author sascha.kohlmann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutorBenchmark {
+
+    private final Callable<String> callable = () -> "value";
+    private final Runnable runnable = () -> {};
+
+    private final TimingExecutor timing = TimingExecutor.of();
+    private final TrialExecutor trial = TrialExecutor.of();
+    private final TimingExecutor chained = TimingExecutor.of(TrialExecutor.of(3));
+
+    @Benchmark
+    public String baseline() throws Exception {
+        return this.callable.call();
+    }
+
+    @Benchmark
+    public String timing() {
+        return this.timing.execute(this.callable);
+    }
+
+    @Benchmark
+    public String trial() {
+        return this.trial.execute(this.callable);
+    }
+
+    @Benchmark
+    public String chained() {
+        return this.chained.execute(this.callable);
+    }
+
+    /** Allocates the {@link Outcome} only. */
+    @Benchmark
+    public Outcome<String> timingTimed() {
+        return this.timing.executeTimed(this.callable);
+    }
+
+    /** Allocates a single {@link Outcome} for the whole chain, like {@link #timingTimed()}. */
+    @Benchmark
+    public Outcome<String> chainedTimed() {
+        return this.chained.executeTimed(this.callable);
+    }
+
+    @Benchmark
+    public void runnable() {
+        this.timing.execute(this.runnable);
+    }
+}
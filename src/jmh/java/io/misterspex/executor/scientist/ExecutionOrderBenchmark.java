@@ -0,0 +1,91 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor.scientist;
+
+import io.misterspex.executor.scientist.Experiment.ExecutionOrder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the scaling of the {@link ExecutionOrderStrategy} implementations with the former
+ * {@code Math.random()} based decision. Run with several thread counts to see the contention.
+ *
+ * @author sascha.kohlmann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionOrderBenchmark {
+
+    private final ExecutionOrderStrategy random = ExecutionOrderStrategy.random();
+    private final ExecutionOrderStrategy alternating = ExecutionOrderStrategy.alternating();
+    private final ExecutionOrderStrategy seeded = ExecutionOrderStrategy.seeded(42);
+    private final ExecutionOrderStrategy weighted = ExecutionOrderStrategy.weighted(0.1);
+
+    @Benchmark
+    public ExecutionOrder mathRandom() {
+        if (Math.random() < 0.5) {
+            return ExecutionOrder.CONTROL_FIRST;
+        }
+        return ExecutionOrder.CANDIDATE_FIRST;
+    }
+
+    @Benchmark
+    public ExecutionOrder random() {
+        return this.random.next();
+    }
+
+    @Benchmark
+    public ExecutionOrder alternating() {
+        return this.alternating.next();
+    }
+
+    @Benchmark
+    public ExecutionOrder seeded() {
+        return this.seeded.next();
+    }
+
+    @Benchmark
+    public ExecutionOrder weighted() {
+        return this.weighted.next();
+    }
+}
@@ -0,0 +1,116 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor.scientist;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead of {@link Experiment#execute(java.util.concurrent.Callable, java.util.concurrent.Callable)}
+ * for synchronous and asynchronous execution.
+ *
+ * @author sascha.kohlmann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExperimentBenchmark {
+
+    private final Callable<String> control = () -> "control";
+    private final Callable<String> candidate = () -> "candidate";
+
+    private ExecutorService executorService;
+    private Experiment<String> sync;
+    private Experiment<String> syncControlOnly;
+    private Experiment<String> syncPublishDisabled;
+    private Experiment<String> async;
+
+    @Setup
+    public void setUp() {
+        this.executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.sync = new Experiment<>("sync");
+        this.syncControlOnly = new Experiment<String>("control-only") {
+            @Override
+            protected boolean enabled() {
+                return false;
+            }
+        };
+        this.syncPublishDisabled = new Experiment<String>("publish-disabled") {
+            @Override
+            protected boolean publishEnabled() {
+                return false;
+            }
+        };
+        this.async = new Experiment<>("async", this.executorService);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        this.executorService.shutdown();
+        this.executorService.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public String sync() throws Exception {
+        return this.sync.execute(this.control, this.candidate);
+    }
+
+    @Benchmark
+    public String syncControlOnly() throws Exception {
+        return this.syncControlOnly.execute(this.control, this.candidate);
+    }
+
+    @Benchmark
+    public String syncPublishDisabled() throws Exception {
+        return this.syncPublishDisabled.execute(this.control, this.candidate);
+    }
+
+    @Benchmark
+    public String async() throws Exception {
+        return this.async.execute(this.control, this.candidate);
+    }
+}
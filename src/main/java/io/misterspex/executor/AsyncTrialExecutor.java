@@ -0,0 +1,109 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous counterpart of the {@link TrialExecutor}. Each trial is scheduled on a
+ * {@link ScheduledExecutorService} after the delay of the {@link Backoff}. No thread is held while waiting for the
+ * next trial, so a small scheduler serves a large number of concurrently retrying operations.
+ * <p>The trials follow the rules of the {@code TrialExecutor}. If all trials failed or an exception doesn't match
+ * the retry predicate the returned {@code CompletionStage} completes exceptionally with an
+ * {@link ExecutionException} holding the last failure as cause.</p>
+ * <p>Cancelling the returned {@code CompletionStage} stops further trials. A cancelled trial stage is never retried
+ * and cancels the returned {@code CompletionStage}.</p>
+ */
+public interface AsyncTrialExecutor {
+
+    /**
+     * Executes the given {@code Callable} on the scheduler until it succeeds or the trials are exhausted.
+     * A blocking {@code Callable} blocks a thread of the scheduler during its execution.
+     * @param <V> the type of the result
+     * @param executable the executable to try
+     * @return a stage completing with the result of the first successful execution
+     * @throws IllegalArgumentException if executable is {@code null}
+     */
+    <V> CompletionStage<V> execute(Callable<V> executable);
+
+    /**
+     * Calls the given {@code Supplier} for each trial until a supplied stage completes normally or the trials are
+     * exhausted. The first trial is called on the calling thread, the following trials on the scheduler.
+     * @param <V> the type of the result
+     * @param executable supplies the stage of each trial
+     * @return a stage completing with the result of the first successful trial
+     * @throws IllegalArgumentException if executable is {@code null}
+     */
+    <V> CompletionStage<V> executeAsync(Supplier<? extends CompletionStage<V>> executable);
+
+    /** Returns a thread safe instance with a maximum of {@code toTry} execution to try pausing with the given
+     * {@code Backoff} between the trials.
+     * @param toTry the number of tries before finally fail
+     * @param backoff the delay between the trials
+     * @param scheduler the scheduler of the trials
+     * @return an AsyncTrialExecutor */
+    static AsyncTrialExecutor of(final int toTry, final Backoff backoff, final ScheduledExecutorService scheduler) {
+        return new AsyncTrialExecutorImpl(toTry, backoff, e -> true, scheduler);
+    }
+
+    /** Returns a thread safe instance with a maximum of {@code toTry} execution to try pausing with the given
+     * {@code Backoff} between the trials. An exception not matching {@code retryOn} finally fails the execution
+     * without further trials.
+     * @param toTry the number of tries before finally fail
+     * @param backoff the delay between the trials
+     * @param retryOn decides if a failed execution is retried
+     * @param scheduler the scheduler of the trials
+     * @return an AsyncTrialExecutor
+     * @see TrialExecutor#retryOn(java.lang.Class...) */
+    static AsyncTrialExecutor of(final int toTry, final Backoff backoff, final Predicate<? super Exception> retryOn,
+                                 final ScheduledExecutorService scheduler) {
+        return new AsyncTrialExecutorImpl(toTry, backoff, retryOn, scheduler);
+    }
+
+    /** Returns a thread safe instance with a maximum of {@code toTry} execution to try pausing with the given
+     * {@code Backoff} between the trials. An exception not matching {@code retryOn} finally fails the execution
+     * without further trials. Each retry withdraws a token of the given {@code RetryBudget}. If the budget is exhausted
+     * the execution finally fails without further trials.
+     * @param toTry the number of tries before finally fail
+     * @param backoff the delay between the trials
+     * @param retryOn decides if a failed execution is retried
+     * @param budget the retry budget. May be shared between several instances
+     * @param scheduler the scheduler of the trials
+     * @return an AsyncTrialExecutor */
+    static AsyncTrialExecutor of(final int toTry, final Backoff backoff, final Predicate<? super Exception> retryOn,
+                                 final RetryBudget budget, final ScheduledExecutorService scheduler) {
+        return new AsyncTrialExecutorImpl(toTry, backoff, retryOn, RetryBudget.assertBudget(budget), scheduler);
+    }
+}
@@ -0,0 +1,177 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static io.misterspex.executor.ChainExecutorSupport.assertExecutableNotNull;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+final class AsyncTrialExecutorImpl implements AsyncTrialExecutor {
+
+    private final int trials;
+    private final Backoff backoff;
+    private final Predicate<? super Exception> retryOn;
+    private final ScheduledExecutorService scheduler;
+    private final RetryBudget budget;
+
+    AsyncTrialExecutorImpl(final int trials, final Backoff backoff, final Predicate<? super Exception> retryOn,
+                           final ScheduledExecutorService scheduler) {
+        this(trials, backoff, retryOn, null, scheduler);
+    }
+
+    /**
+     * @param budget the shared retry budget. {@code null} for unlimited retries
+     */
+    AsyncTrialExecutorImpl(final int trials, final Backoff backoff, final Predicate<? super Exception> retryOn,
+                           final RetryBudget budget, final ScheduledExecutorService scheduler) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("Trials must be > 0. Is: " + trials);
+        }
+        if (backoff == null) {
+            throw new IllegalArgumentException("Backoff must be provided");
+        }
+        if (retryOn == null) {
+            throw new IllegalArgumentException("Retry predicate must be provided");
+        }
+        if (scheduler == null) {
+            throw new IllegalArgumentException("Scheduler must be provided");
+        }
+        this.trials = trials;
+        this.backoff = backoff;
+        this.retryOn = retryOn;
+        this.scheduler = scheduler;
+        this.budget = budget;
+    }
+
+    @Override
+    public <V> CompletionStage<V> execute(final Callable<V> executable) {
+        assertExecutableNotNull(executable);
+        final Supplier<CompletionStage<V>> supplier = () -> {
+            try {
+                return CompletableFuture.completedFuture(executable.call());
+            } catch (final Exception e) {
+                final CompletableFuture<V> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                return failed;
+            }
+        };
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        try {
+            this.scheduler.execute(() -> attempt(supplier, result, 0, 0L));
+        } catch (final RejectedExecutionException e) {
+            result.completeExceptionally(new ExecutionException(e.getMessage(), e));
+        }
+        return result;
+    }
+
+    @Override
+    public <V> CompletionStage<V> executeAsync(final Supplier<? extends CompletionStage<V>> executable) {
+        assertExecutableNotNull(executable);
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        attempt(executable, result, 0, 0L);
+        return result;
+    }
+
+    /**
+     * Runs a single trial. A completed result means the caller cancelled the execution.
+     */
+    private <V> void attempt(final Supplier<? extends CompletionStage<V>> executable, final CompletableFuture<V> result,
+                             final int failures, final long previousDelayNanos) {
+        if (result.isDone()) {
+            return;
+        }
+        final CompletionStage<V> stage;
+        try {
+            stage = requireNonNull(executable.get(), "Stage must be provided");
+        } catch (final Exception e) {
+            failed(executable, result, failures, previousDelayNanos, e);
+            return;
+        }
+        stage.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                if (failures == 0 && this.budget != null) {
+                    this.budget.deposit();
+                }
+                result.complete(value);
+            } else {
+                final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                                        ? throwable.getCause() : throwable;
+                if (cause instanceof Exception) {
+                    failed(executable, result, failures, previousDelayNanos, (Exception) cause);
+                } else {
+                    result.completeExceptionally(cause);
+                }
+            }
+        });
+    }
+
+    private <V> void failed(final Supplier<? extends CompletionStage<V>> executable, final CompletableFuture<V> result,
+                            final int failures, final long previousDelayNanos, final Exception e) {
+        if (e instanceof CancellationException) {
+            // A cancelled trial ends the execution like cancelling the returned stage
+            result.completeExceptionally(e);
+            return;
+        }
+        // Same limit as TrialExecutorImpl.trialsExhausted
+        if (!TrialExecutorImpl.retryable(this.retryOn, e) || failures == this.trials || (this.budget != null && !this.budget.tryAcquire())) {
+            result.completeExceptionally(executionExceptionOf(e));
+            return;
+        }
+        final int retry = failures + 1;
+        final long delayNanos = this.backoff.delayNanos(retry, previousDelayNanos);
+        try {
+            this.scheduler.schedule(() -> attempt(executable, result, retry, delayNanos), Math.max(0L, delayNanos), NANOSECONDS);
+        } catch (final RejectedExecutionException rejected) {
+            e.addSuppressed(rejected);
+            result.completeExceptionally(executionExceptionOf(e));
+        }
+    }
+
+    private static ExecutionException executionExceptionOf(final Exception e) {
+        if (e instanceof ExecutionException) {
+            return (ExecutionException) e;
+        }
+        return new ExecutionException(e.getMessage(), e);
+    }
+}
@@ -0,0 +1,85 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.time.Duration;
+
+/**
+ * Computes the delay before a retry of a failed execution.
+ * <p>All instances returned by the factory methods are thread safe and stateless. The state of a sequence of
+ * retries is the previous delay given by the caller.</p>
+ * @see TrialExecutor#of(int, io.misterspex.executor.Backoff)
+ */
+@FunctionalInterface
+public interface Backoff {
+
+    /**
+     * The delay before the next retry.
+     * @param retry the number of the retry. Starts with {@code 1}
+     * @param previousNanos the delay before the previous retry in nanoseconds. {@code 0} for the first retry
+     * @return the delay in nanoseconds. A value {@code <= 0} retries immediately
+     */
+    long delayNanos(int retry, long previousNanos);
+
+    /** Returns a backoff retrying immediately. This is the default behavior of a {@link TrialExecutor}.
+     * @return a Backoff */
+    static Backoff none() {
+        return Backoffs.NONE;
+    }
+
+    /** Returns a backoff with the same delay before each retry.
+     * @param delay the delay before each retry
+     * @return a Backoff
+     * @throws IllegalArgumentException if delay is {@code null} or negative */
+    static Backoff fixed(final Duration delay) {
+        return new Backoffs.Fixed(Backoffs.assertDuration(delay, "Delay"));
+    }
+
+    /** Returns a backoff doubling the delay before each retry starting with {@code base} up to {@code max}.
+     * @param base the delay before the first retry
+     * @param max the maximum delay
+     * @return a Backoff
+     * @throws IllegalArgumentException if base or max is {@code null} or negative or max is lower than base */
+    static Backoff exponential(final Duration base, final Duration max) {
+        return new Backoffs.Exponential(Backoffs.assertDuration(base, "Base"), Backoffs.assertMax(base, max));
+    }
+
+    /** Returns a backoff with decorrelated jitter. Each delay is a random value between {@code base} and three times
+     * the previous delay, capped at {@code max}. The jitter spreads the retries of concurrent callers and avoids
+     * synchronized retry storms against a recovering dependency.
+     * @param base the minimum delay
+     * @param max the maximum delay
+     * @return a Backoff
+     * @throws IllegalArgumentException if base or max is {@code null} or negative or max is lower than base */
+    static Backoff decorrelatedJitter(final Duration base, final Duration max) {
+        return new Backoffs.DecorrelatedJitter(Backoffs.assertDuration(base, "Base"), Backoffs.assertMax(base, max));
+    }
+}
@@ -0,0 +1,119 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implementations of {@link Backoff}.
+ *
+ * @author sascha.kohlmann
+ */
+final class Backoffs {
+
+    static final Backoff NONE = (retry, previousNanos) -> 0L;
+
+    private Backoffs() {}
+
+    static long assertDuration(final Duration duration, final String name) throws IllegalArgumentException {
+        if (duration == null) {
+            throw new IllegalArgumentException(name + " must be provided");
+        }
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException(name + " must be >= 0. Is: " + duration);
+        }
+        return duration.toNanos();
+    }
+
+    static long assertMax(final Duration base, final Duration max) throws IllegalArgumentException {
+        final long maxNanos = assertDuration(max, "Max");
+        if (maxNanos < base.toNanos()) {
+            throw new IllegalArgumentException("Max must be >= " + base + ". Is: " + max);
+        }
+        return maxNanos;
+    }
+
+    static final class Fixed implements Backoff {
+
+        private final long delayNanos;
+
+        Fixed(final long delayNanos) {
+            this.delayNanos = delayNanos;
+        }
+
+        @Override
+        public long delayNanos(final int retry, final long previousNanos) {
+            return this.delayNanos;
+        }
+    }
+
+    static final class Exponential implements Backoff {
+
+        private final long baseNanos;
+        private final long maxNanos;
+
+        Exponential(final long baseNanos, final long maxNanos) {
+            this.baseNanos = baseNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        @Override
+        public long delayNanos(final int retry, final long previousNanos) {
+            final int shift = Math.max(0, retry - 1);
+            if (shift >= Long.numberOfLeadingZeros(this.baseNanos) - 1) {
+                return this.maxNanos;
+            }
+            return Math.min(this.maxNanos, this.baseNanos << shift);
+        }
+    }
+
+    static final class DecorrelatedJitter implements Backoff {
+
+        private final long baseNanos;
+        private final long maxNanos;
+
+        DecorrelatedJitter(final long baseNanos, final long maxNanos) {
+            this.baseNanos = baseNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        @Override
+        public long delayNanos(final int retry, final long previousNanos) {
+            final long previous = Math.max(this.baseNanos, previousNanos);
+            final long upper = previous > this.maxNanos / 3 ? this.maxNanos : previous * 3;
+            if (upper <= this.baseNanos) {
+                return this.baseNanos;
+            }
+            return ThreadLocalRandom.current().nextLong(this.baseNanos, upper + 1);
+        }
+    }
+}
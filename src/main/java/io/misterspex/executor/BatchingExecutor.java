@@ -0,0 +1,136 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+/**
+ * Merges single keys of concurrent callers into bulk executions.
+ * <p>A batch is executed if it reaches the maximum batch size or the first key of the batch waited for the maximum
+ * linger time. The bulk function gets the distinct keys of the batch and returns the results mapped by key. Each
+ * caller gets the result of its key. A key without result completes with a {@link java.util.NoSuchElementException}
+ * as cause. If the bulk function fails, all callers of the batch get the exception.</p>
+ * <p>The given {@link ScheduledExecutorService} fires the linger timers and collects the batches only. The bulk
+ * functions run on the dispatcher, by default a shared pool of daemon threads, virtual threads if available. A slow
+ * bulk function therefore doesn't delay the batches of other instances sharing the scheduler. The implementation
+ * collects the keys in a lock-free queue.</p>
+ * @param <K> the type of the keys
+ * @param <V> the type of the results
+ */
+public interface BatchingExecutor<K, V> {
+
+    /**
+     * Adds the key to the next batch.
+     * @param key the key
+     * @return a stage completing with the result of the key
+     * @throws IllegalArgumentException if key is {@code null}
+     */
+    CompletionStage<V> submit(K key);
+
+    /**
+     * Adds the key to the next batch and waits for the result.
+     * @param key the key
+     * @return the result of the key
+     * @throws IllegalArgumentException if key is {@code null}
+     * @throws ExecutionException if an exception raise during execution
+     */
+    V execute(K key) throws ExecutionException;
+
+    /**
+     * The number of executed batches.
+     * @return the number of batches
+     */
+    long batches();
+
+    /** Returns a thread safe instance.
+     * @param <K> the type of the keys
+     * @param <V> the type of the results
+     * @param bulk the bulk function
+     * @param maxBatchSize the maximum number of keys of a batch
+     * @param maxLinger the maximum time the first key of a batch waits for further keys
+     * @param scheduler the scheduler of the linger timers
+     * @return a BatchingExecutor */
+    static <K, V> BatchingExecutor<K, V> of(final Function<? super List<K>, ? extends Map<K, ? extends V>> bulk, final int maxBatchSize,
+                                            final Duration maxLinger, final ScheduledExecutorService scheduler) {
+        return new BatchingExecutorImpl<>(bulk, maxBatchSize, maxLinger, scheduler, BatchingExecutorImpl.defaultDispatcher());
+    }
+
+    /** Returns a thread safe instance.
+     * @param <K> the type of the keys
+     * @param <V> the type of the results
+     * @param bulk the bulk function
+     * @param maxBatchSize the maximum number of keys of a batch
+     * @param maxLinger the maximum time the first key of a batch waits for further keys
+     * @param scheduler the scheduler of the linger timers
+     * @param dispatcher the executor of the bulk functions
+     * @return a BatchingExecutor */
+    static <K, V> BatchingExecutor<K, V> of(final Function<? super List<K>, ? extends Map<K, ? extends V>> bulk, final int maxBatchSize,
+                                            final Duration maxLinger, final ScheduledExecutorService scheduler,
+                                            final ExecutorService dispatcher) {
+        return new BatchingExecutorImpl<>(bulk, maxBatchSize, maxLinger, scheduler, dispatcher);
+    }
+
+    /** Returns a thread safe instance. The bulk functions call the corresponding method of the given {@code Executor}.
+     * @param <K> the type of the keys
+     * @param <V> the type of the results
+     * @param bulk the bulk function
+     * @param maxBatchSize the maximum number of keys of a batch
+     * @param maxLinger the maximum time the first key of a batch waits for further keys
+     * @param scheduler the scheduler of the linger timers
+     * @param executor an executor to chain the call to
+     * @return a BatchingExecutor */
+    static <K, V> BatchingExecutor<K, V> of(final Function<? super List<K>, ? extends Map<K, ? extends V>> bulk, final int maxBatchSize,
+                                            final Duration maxLinger, final ScheduledExecutorService scheduler, final Executor executor) {
+        return new BatchingExecutorImpl<>(bulk, maxBatchSize, maxLinger, scheduler, BatchingExecutorImpl.defaultDispatcher(), executor);
+    }
+
+    /** Returns a thread safe instance. The bulk functions call the corresponding method of the given {@code Executor}.
+     * @param <K> the type of the keys
+     * @param <V> the type of the results
+     * @param bulk the bulk function
+     * @param maxBatchSize the maximum number of keys of a batch
+     * @param maxLinger the maximum time the first key of a batch waits for further keys
+     * @param scheduler the scheduler of the linger timers
+     * @param dispatcher the executor of the bulk functions
+     * @param executor an executor to chain the call to
+     * @return a BatchingExecutor */
+    static <K, V> BatchingExecutor<K, V> of(final Function<? super List<K>, ? extends Map<K, ? extends V>> bulk, final int maxBatchSize,
+                                            final Duration maxLinger, final ScheduledExecutorService scheduler,
+                                            final ExecutorService dispatcher, final Executor executor) {
+        return new BatchingExecutorImpl<>(bulk, maxBatchSize, maxLinger, scheduler, dispatcher, executor);
+    }
+}
@@ -0,0 +1,264 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The pending keys are collected in a {@link ConcurrentLinkedQueue} with a separate counter. The submit incrementing
+ * the counter to {@code 1} schedules the linger flush, the submit incrementing the counter to the maximum batch
+ * size triggers an immediate flush. A flush drains the queue in batches of the maximum size and hands each batch
+ * to the dispatcher.
+ *
+ * @author sascha.kohlmann
+ */
+final class BatchingExecutorImpl<K, V> extends ChainExecutorSupport implements BatchingExecutor<K, V> {
+
+    private final Function<? super List<K>, ? extends Map<K, ? extends V>> bulk;
+    private final int maxBatchSize;
+    private final long maxLinger;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService dispatcher;
+    private final ConcurrentLinkedQueue<Pending<K, V>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder batches = new LongAdder();
+
+    BatchingExecutorImpl(final Function<? super List<K>, ? extends Map<K, ? extends V>> bulk, final int maxBatchSize,
+                         final Duration maxLinger, final ScheduledExecutorService scheduler, final ExecutorService dispatcher) {
+        super(null);
+        this.bulk = assertBulk(bulk);
+        this.maxBatchSize = assertMaxBatchSize(maxBatchSize);
+        this.maxLinger = assertMaxLinger(maxLinger);
+        this.scheduler = assertScheduler(scheduler);
+        this.dispatcher = assertDispatcher(dispatcher);
+    }
+
+    BatchingExecutorImpl(final Function<? super List<K>, ? extends Map<K, ? extends V>> bulk, final int maxBatchSize,
+                         final Duration maxLinger, final ScheduledExecutorService scheduler, final ExecutorService dispatcher,
+                         final Executor chain) {
+        super(chain);
+        assertExecutor(chain);
+        this.bulk = assertBulk(bulk);
+        this.maxBatchSize = assertMaxBatchSize(maxBatchSize);
+        this.maxLinger = assertMaxLinger(maxLinger);
+        this.scheduler = assertScheduler(scheduler);
+        this.dispatcher = assertDispatcher(dispatcher);
+    }
+
+    @Override
+    public CompletionStage<V> submit(final K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key must be provided");
+        }
+        final Pending<K, V> item = new Pending<>(key);
+        this.pending.offer(item);
+        final int count = this.size.incrementAndGet();
+        try {
+            if (count == this.maxBatchSize) {
+                this.scheduler.execute(this::flush);
+            } else if (count == 1) {
+                this.scheduler.schedule(this::flush, this.maxLinger, NANOSECONDS);
+            }
+        } catch (final RejectedExecutionException e) {
+            rejected(item, e);
+        }
+        return item.result;
+    }
+
+    /**
+     * Fails the submitted item and all queued items. Without a scheduled flush they would wait until a batch fills.
+     */
+    private void rejected(final Pending<K, V> submitted, final RejectedExecutionException e) {
+        final ExecutionException failure = new ExecutionException(e.getMessage(), e);
+        submitted.result.completeExceptionally(failure);
+        Pending<K, V> item;
+        while ((item = this.pending.poll()) != null) {
+            this.size.decrementAndGet();
+            item.result.completeExceptionally(failure);
+        }
+    }
+
+    @Override
+    public V execute(final K key) throws ExecutionException {
+        try {
+            return submit(key).toCompletableFuture().get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException(e);
+        } catch (final java.util.concurrent.ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throwExecutionException((Exception) cause);
+            return null;
+        }
+    }
+
+    private void flush() {
+        List<Pending<K, V>> batch;
+        do {
+            batch = new ArrayList<>(this.maxBatchSize);
+            Pending<K, V> item;
+            while (batch.size() < this.maxBatchSize && (item = this.pending.poll()) != null) {
+                this.size.decrementAndGet();
+                batch.add(item);
+            }
+            if (!batch.isEmpty()) {
+                dispatchAsync(batch);
+            }
+        } while (batch.size() == this.maxBatchSize);
+    }
+
+    /**
+     * Hands the batch to the dispatcher. A slow bulk function on the scheduler would delay the linger flushes of all
+     * executors sharing the scheduler.
+     */
+    private void dispatchAsync(final List<Pending<K, V>> batch) {
+        try {
+            this.dispatcher.execute(() -> dispatch(batch));
+        } catch (final RejectedExecutionException e) {
+            failed(batch, new ExecutionException(e.getMessage(), e));
+        }
+    }
+
+    private void dispatch(final List<Pending<K, V>> batch) {
+        this.batches.increment();
+        final LinkedHashSet<K> keys = new LinkedHashSet<>();
+        for (final Pending<K, V> item : batch) {
+            keys.add(item.key);
+        }
+        final Map<K, ? extends V> results;
+        try {
+            results = doExecute(() -> this.bulk.apply(new ArrayList<>(keys)));
+            if (results == null) {
+                throw new NullPointerException("Bulk function returned null");
+            }
+        } catch (final Exception e) {
+            failed(batch, e instanceof ExecutionException ? (ExecutionException) e : new ExecutionException(e));
+            return;
+        } catch (final Error e) {
+            failed(batch, e);
+            return;
+        }
+        for (final Pending<K, V> item : batch) {
+            if (results.containsKey(item.key)) {
+                item.result.complete(results.get(item.key));
+            } else {
+                item.result.completeExceptionally(new ExecutionException(new NoSuchElementException("No result for key: " + item.key)));
+            }
+        }
+    }
+
+    private void failed(final List<Pending<K, V>> batch, final Throwable failure) {
+        for (final Pending<K, V> item : batch) {
+            item.result.completeExceptionally(failure);
+        }
+    }
+
+    @Override
+    public long batches() {
+        return this.batches.sum();
+    }
+
+    Function<? super List<K>, ? extends Map<K, ? extends V>> assertBulk(final Function<? super List<K>, ? extends Map<K, ? extends V>> bulk) {
+        if (bulk == null) {
+            throw new IllegalArgumentException("Bulk function must be provided");
+        }
+        return bulk;
+    }
+
+    int assertMaxBatchSize(final int maxBatchSize) throws IllegalArgumentException {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be > 0. Is: " + maxBatchSize);
+        }
+        return maxBatchSize;
+    }
+
+    long assertMaxLinger(final Duration maxLinger) throws IllegalArgumentException {
+        if (maxLinger == null) {
+            throw new IllegalArgumentException("Max linger must be provided");
+        }
+        if (maxLinger.isNegative()) {
+            throw new IllegalArgumentException("Max linger must be >= 0. Is: " + maxLinger);
+        }
+        return maxLinger.toNanos();
+    }
+
+    ScheduledExecutorService assertScheduler(final ScheduledExecutorService scheduler) throws IllegalArgumentException {
+        if (scheduler == null) {
+            throw new IllegalArgumentException("Scheduler must be provided");
+        }
+        return scheduler;
+    }
+
+    ExecutorService assertDispatcher(final ExecutorService dispatcher) throws IllegalArgumentException {
+        if (dispatcher == null) {
+            throw new IllegalArgumentException("Dispatcher must be provided");
+        }
+        return dispatcher;
+    }
+
+    static ExecutorService defaultDispatcher() {
+        return DefaultDispatcher.DISPATCHER;
+    }
+
+    /** Holds the default dispatcher of the bulk functions. Created on first use. */
+    private static final class DefaultDispatcher {
+        private static final ExecutorService DISPATCHER = Executors.newCachedThreadPool(VirtualThreads.threadFactory("batching-dispatcher"));
+    }
+
+    private static final class Pending<K, V> {
+
+        final K key;
+        final CompletableFuture<V> result = new CompletableFuture<>();
+
+        Pending(final K key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the hits, misses and evictions of a {@link CachingExecutor}.
+ * <p>The counters are striped {@link LongAdder LongAdders}. The counters are not read atomically in relation to
+ * each other.</p>
+ *
+ * @author sascha.kohlmann
+ */
+public final class CacheStatistics {
+
+    final LongAdder hits = new LongAdder();
+    final LongAdder staleHits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder evictions = new LongAdder();
+    final LongAdder refreshes = new LongAdder();
+
+    CacheStatistics() {}
+
+    /** @return the number of fresh results returned */
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    /** @return the number of expired results returned while refreshing */
+    public long staleHits() {
+        return this.staleHits.sum();
+    }
+
+    /** @return the number of executions on the calling thread */
+    public long misses() {
+        return this.misses.sum();
+    }
+
+    /** @return the number of results removed because of the maximum size */
+    public long evictions() {
+        return this.evictions.sum();
+    }
+
+    /** @return the number of successful background refreshes */
+    public long refreshes() {
+        return this.refreshes.sum();
+    }
+
+    /** @return the ratio of fresh and stale hits to all requests. {@code 0.0} without requests */
+    public double hitRatio() {
+        final long hits = hits() + staleHits();
+        final long requests = hits + misses();
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{" + "hits=" + hits() + ", staleHits=" + staleHits() + ", misses=" + misses()
+                + ", evictions=" + evictions() + ", refreshes=" + refreshes() + '}';
+    }
+}
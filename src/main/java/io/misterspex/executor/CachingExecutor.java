@@ -0,0 +1,128 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Caches the results of idempotent executions by key.
+ * <p>A result is fresh for the time to live. With stale-while-revalidate an expired result is returned for an
+ * additional period while a single background execution on the given {@link ExecutorService} refreshes it.
+ * Results older than both periods are executed again on the calling thread.</p>
+ * <p>The cache is bounded by a maximum size. If the size is exceeded, the second chance (CLOCK) eviction removes an
+ * entry not used since the last pass of the clock. This is an approximation of a least recently used eviction without
+ * a lock on read.</p>
+ * <p>Exceptions are not cached.</p>
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached results
+ */
+public interface CachingExecutor<K, V> {
+
+    /**
+     * Returns the cached result for the key or executes the given {@code Callable} and caches the result.
+     * @param key the key of the result
+     * @param executable the executable computing the result
+     * @return the cached or computed result
+     * @throws IllegalArgumentException if key or executable is {@code null}
+     * @throws ExecutionException if an exception raise during execution
+     */
+    V execute(K key, Callable<? extends V> executable) throws ExecutionException;
+
+    /**
+     * Removes the cached result of the key.
+     * @param key the key of the result
+     */
+    void invalidate(K key);
+
+    /**
+     * The number of cached results.
+     * @return the number of cached results
+     */
+    long size();
+
+    /**
+     * The statistics of this cache.
+     * @return the statistics
+     */
+    CacheStatistics statistics();
+
+    /** Returns a thread safe instance without stale-while-revalidate.
+     * @param <K> the type of the keys
+     * @param <V> the type of the cached results
+     * @param maxSize the maximum number of cached results
+     * @param timeToLive the time a result is fresh
+     * @return a CachingExecutor */
+    static <K, V> CachingExecutor<K, V> of(final int maxSize, final Duration timeToLive) {
+        return new CachingExecutorImpl<>(maxSize, timeToLive, Duration.ZERO, null);
+    }
+
+    /** Returns a thread safe instance without stale-while-revalidate. The executions call the corresponding method of
+     * the given {@code Executor}.
+     * @param <K> the type of the keys
+     * @param <V> the type of the cached results
+     * @param maxSize the maximum number of cached results
+     * @param timeToLive the time a result is fresh
+     * @param executor an executor to chain the call to
+     * @return a CachingExecutor */
+    static <K, V> CachingExecutor<K, V> of(final int maxSize, final Duration timeToLive, final Executor executor) {
+        return new CachingExecutorImpl<>(maxSize, timeToLive, Duration.ZERO, null, executor);
+    }
+
+    /** Returns a thread safe instance with stale-while-revalidate.
+     * @param <K> the type of the keys
+     * @param <V> the type of the cached results
+     * @param maxSize the maximum number of cached results
+     * @param timeToLive the time a result is fresh
+     * @param staleWhileRevalidate the time an expired result is returned while refreshing
+     * @param refresher the service executing the refresh
+     * @return a CachingExecutor */
+    static <K, V> CachingExecutor<K, V> of(final int maxSize, final Duration timeToLive, final Duration staleWhileRevalidate,
+                                           final ExecutorService refresher) {
+        return new CachingExecutorImpl<>(maxSize, timeToLive, staleWhileRevalidate, CachingExecutorImpl.assertRefresher(refresher));
+    }
+
+    /** Returns a thread safe instance with stale-while-revalidate. The executions call the corresponding method of the
+     * given {@code Executor}.
+     * @param <K> the type of the keys
+     * @param <V> the type of the cached results
+     * @param maxSize the maximum number of cached results
+     * @param timeToLive the time a result is fresh
+     * @param staleWhileRevalidate the time an expired result is returned while refreshing
+     * @param refresher the service executing the refresh
+     * @param executor an executor to chain the call to
+     * @return a CachingExecutor */
+    static <K, V> CachingExecutor<K, V> of(final int maxSize, final Duration timeToLive, final Duration staleWhileRevalidate,
+                                           final ExecutorService refresher, final Executor executor) {
+        return new CachingExecutorImpl<>(maxSize, timeToLive, staleWhileRevalidate, CachingExecutorImpl.assertRefresher(refresher), executor);
+    }
+}
@@ -0,0 +1,285 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * The entries are stored in a {@link ConcurrentHashMap} and additionally in the insertion order in a
+ * {@link ConcurrentLinkedQueue}, the ring of the clock. A read only sets the referenced flag of the entry. The
+ * eviction takes entries from the head of the queue. A referenced entry gets a second chance and is appended to the
+ * tail with a cleared flag. A queued entry no longer mapped is dropped.
+ *
+ * @author sascha.kohlmann
+ */
+final class CachingExecutorImpl<K, V> extends ChainExecutorSupport implements CachingExecutor<K, V> {
+
+    private final int maxSize;
+    private final long timeToLive;
+    private final long staleWhileRevalidate;
+    private final ExecutorService refresher;
+    private final LongSupplier ticker;
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry<K, V>> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger clockSize = new AtomicInteger();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    /**
+     * @param refresher the refresher of expired entries. {@code null} without stale-while-revalidate
+     */
+    CachingExecutorImpl(final int maxSize, final Duration timeToLive, final Duration staleWhileRevalidate, final ExecutorService refresher) {
+        this(maxSize, timeToLive, staleWhileRevalidate, refresher, System::nanoTime);
+    }
+
+    /**
+     * @param refresher the refresher of expired entries. {@code null} without stale-while-revalidate
+     * @param ticker the source of the entry ages in nanoseconds
+     */
+    CachingExecutorImpl(final int maxSize, final Duration timeToLive, final Duration staleWhileRevalidate, final ExecutorService refresher,
+                        final LongSupplier ticker) {
+        super(null);
+        this.maxSize = assertMaxSize(maxSize);
+        this.timeToLive = assertDuration(timeToLive, "Time to live");
+        this.staleWhileRevalidate = assertDuration(staleWhileRevalidate, "Stale while revalidate");
+        this.refresher = refresher;
+        this.ticker = ticker;
+    }
+
+    /**
+     * @param refresher the refresher of expired entries. {@code null} without stale-while-revalidate
+     */
+    CachingExecutorImpl(final int maxSize, final Duration timeToLive, final Duration staleWhileRevalidate, final ExecutorService refresher,
+                        final Executor chain) {
+        super(chain);
+        assertExecutor(chain);
+        this.maxSize = assertMaxSize(maxSize);
+        this.timeToLive = assertDuration(timeToLive, "Time to live");
+        this.staleWhileRevalidate = assertDuration(staleWhileRevalidate, "Stale while revalidate");
+        this.refresher = refresher;
+        this.ticker = System::nanoTime;
+    }
+
+    @Override
+    public V execute(final K key, final Callable<? extends V> executable) throws ExecutionException {
+        assertKey(key);
+        assertExecutableNotNull(executable);
+        final Entry<K, V> entry = this.entries.get(key);
+        if (entry != null) {
+            final long age = this.ticker.getAsLong() - entry.created;
+            if (age < this.timeToLive) {
+                entry.referenced = true;
+                this.statistics.hits.increment();
+                return entry.value;
+            }
+            if (this.refresher != null && age < this.timeToLive + this.staleWhileRevalidate) {
+                entry.referenced = true;
+                this.statistics.staleHits.increment();
+                refresh(entry, executable);
+                return entry.value;
+            }
+            this.entries.remove(key, entry);
+        }
+        this.statistics.misses.increment();
+        final V value = load(executable);
+        store(new Entry<>(key, value, this.ticker.getAsLong()), null);
+        return value;
+    }
+
+    private V load(final Callable<? extends V> executable) throws ExecutionException {
+        try {
+            return doExecute(executable);
+        } catch (final Exception e) {
+            if (e instanceof ExecutionException) {
+                throw (ExecutionException) e;
+            }
+            throw new ExecutionException(e);
+        }
+    }
+
+    /**
+     * Starts a single refresh of the entry. The refreshing flag stays set after a successful refresh, because the
+     * entry is replaced. Otherwise it is reset whatever the refresh throws, so a later read refreshes again.
+     */
+    private void refresh(final Entry<K, V> entry, final Callable<? extends V> executable) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.refresher.execute(() -> {
+                boolean stored = false;
+                try {
+                    final Entry<K, V> refreshed = new Entry<>(entry.key, load(executable), this.ticker.getAsLong());
+                    refreshed.referenced = true;
+                    stored = store(refreshed, entry);
+                    if (stored) {
+                        this.statistics.refreshes.increment();
+                    }
+                } catch (final RuntimeException e) {
+                    // The stale entry is served until a later read refreshes again
+                } finally {
+                    if (!stored) {
+                        entry.refreshing.set(false);
+                    }
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    /**
+     * Stores the entry.
+     * @param expected the entry to replace. {@code null} to replace any entry
+     * @return {@code true} if stored
+     */
+    private boolean store(final Entry<K, V> entry, final Entry<K, V> expected) {
+        if (expected == null) {
+            this.entries.put(entry.key, entry);
+        } else if (!this.entries.replace(entry.key, expected, entry)) {
+            return false;
+        }
+        this.clock.offer(entry);
+        this.clockSize.incrementAndGet();
+        if (this.entries.size() > this.maxSize || this.clockSize.get() > this.maxSize * 2) {
+            evict();
+        }
+        return true;
+    }
+
+    /**
+     * Turns the clock until the size is within the bounds. Only a single thread evicts at a time; other threads
+     * don't wait for the eviction.
+     */
+    private void evict() {
+        if (!this.evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int steps = this.clockSize.get() * 2;
+            while (steps-- > 0 && (this.entries.size() > this.maxSize || this.clockSize.get() > this.maxSize * 2)) {
+                final Entry<K, V> candidate = this.clock.poll();
+                if (candidate == null) {
+                    return;
+                }
+                this.clockSize.decrementAndGet();
+                if (this.entries.get(candidate.key) != candidate) {
+                    continue;
+                }
+                if (this.entries.size() <= this.maxSize) {
+                    // Only removing unmapped entries from the clock
+                    requeue(candidate);
+                } else if (candidate.referenced) {
+                    candidate.referenced = false;
+                    requeue(candidate);
+                } else if (this.entries.remove(candidate.key, candidate)) {
+                    this.statistics.evictions.increment();
+                }
+            }
+        } finally {
+            this.evicting.set(false);
+        }
+    }
+
+    private void requeue(final Entry<K, V> entry) {
+        this.clock.offer(entry);
+        this.clockSize.incrementAndGet();
+    }
+
+    @Override
+    public void invalidate(final K key) {
+        assertKey(key);
+        this.entries.remove(key);
+    }
+
+    @Override
+    public long size() {
+        return this.entries.mappingCount();
+    }
+
+    @Override
+    public CacheStatistics statistics() {
+        return this.statistics;
+    }
+
+    static ExecutorService assertRefresher(final ExecutorService refresher) throws IllegalArgumentException {
+        if (refresher == null) {
+            throw new IllegalArgumentException("Refresher must be provided");
+        }
+        return refresher;
+    }
+
+    void assertKey(final Object key) throws IllegalArgumentException {
+        if (key == null) {
+            throw new IllegalArgumentException("Key must be provided");
+        }
+    }
+
+    int assertMaxSize(final int maxSize) throws IllegalArgumentException {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be > 0. Is: " + maxSize);
+        }
+        return maxSize;
+    }
+
+    long assertDuration(final Duration duration, final String name) throws IllegalArgumentException {
+        if (duration == null) {
+            throw new IllegalArgumentException(name + " must be provided");
+        }
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException(name + " must be >= 0. Is: " + duration);
+        }
+        return duration.toNanos();
+    }
+
+    private static final class Entry<K, V> {
+
+        final K key;
+        final V value;
+        final long created;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        volatile boolean referenced;
+
+        Entry(final K key, final V value, final long created) {
+            this.key = key;
+            this.value = value;
+            this.created = created;
+        }
+    }
+}
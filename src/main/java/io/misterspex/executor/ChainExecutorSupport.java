@@ -52,6 +52,28 @@ abstract class ChainExecutorSupport {
         return exec.execute(executable);
     }
 
+    /**
+     * Executes with the chained executor and returns an {@link Outcome} with the duration since <em>start</em>.
+     * A chained {@code ChainExecutorSupport} creates the {@code Outcome} itself. An execution through a chain
+     * therefore allocates a single {@code Outcome}.
+     */
+    final <V> Outcome<V> doExecuteTimed(final Callable<V> executable, final long start) throws Exception {
+        final Executor exec = executor();
+        if (exec instanceof ChainExecutorSupport) {
+            return ((ChainExecutorSupport) exec).executeTimed(executable, start);
+        }
+        return new Outcome<>(doExecute(executable), System.nanoTime() - start, 1);
+    }
+
+    /**
+     * Executes like {@link Executor#execute(java.util.concurrent.Callable)} and returns an {@link Outcome} with the
+     * duration since <em>start</em> and a single trial. Executors with trials of their own or taking the trials
+     * from a chained executor override.
+     */
+    <V> Outcome<V> executeTimed(final Callable<V> executable, final long start) throws Exception {
+        return new Outcome<>(((Executor) this).execute(executable), System.nanoTime() - start, 1);
+    }
+
     protected final Executor executor() {
         return this.executor;
     }
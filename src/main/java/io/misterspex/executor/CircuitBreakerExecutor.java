@@ -0,0 +1,104 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.time.Duration;
+
+/**
+ * Fails fast with an {@link ExecutionRejectedException} while the failure rate of the executions is too high.
+ * <p>The circuit starts {@link State#CLOSED closed} and records the outcome of the last executions in a sliding
+ * window. If the window is filled and the failure rate reaches the threshold, the circuit {@link State#OPEN opens}
+ * and rejects all executions. After the open duration the next execution is the single probe of the
+ * {@link State#HALF_OPEN half open} circuit. A successful probe closes the circuit, a failed probe opens it again.</p>
+ * <p>The state is an immutable value swapped by compare-and-set. No lock is taken on execution.</p>
+ */
+public interface CircuitBreakerExecutor extends Executor {
+
+    /**
+     * The current state of the circuit.
+     * @return the state
+     */
+    State state();
+
+    /**
+     * The number of rejected executions.
+     * @return the rejected execution number
+     */
+    long rejected();
+
+    /** Returns a thread safe instance with a window of 100 executions, a failure rate threshold of 50% and an open
+     * duration of 60 seconds.
+     * @return a CircuitBreakerExecutor */
+    static CircuitBreakerExecutor of() {
+        return of(100, 50.0, Duration.ofSeconds(60));
+    }
+
+    /** Returns a thread safe instance with a window of 100 executions, a failure rate threshold of 50% and an open
+     * duration of 60 seconds. {@link #execute(java.lang.Runnable)} and {@link #execute(java.util.concurrent.Callable)}
+     * calls there corresponding method of the given {@code Executor}.
+     * @param executor an executor to chain the call to
+     * @return a CircuitBreakerExecutor */
+    static CircuitBreakerExecutor of(final Executor executor) {
+        return of(100, 50.0, Duration.ofSeconds(60), executor);
+    }
+
+    /** Returns a thread safe instance.
+     * @param windowSize the number of the last executions to calculate the failure rate
+     * @param failureRatePercent the failure rate opening the circuit
+     * @param openDuration the duration of the open circuit before probing
+     * @return a CircuitBreakerExecutor */
+    static CircuitBreakerExecutor of(final int windowSize, final double failureRatePercent, final Duration openDuration) {
+        return new CircuitBreakerExecutorImpl(windowSize, failureRatePercent, openDuration);
+    }
+
+    /** Returns a thread safe instance. {@link #execute(java.lang.Runnable)} and
+     * {@link #execute(java.util.concurrent.Callable)} calls there corresponding method of the given {@code Executor}.
+     * @param windowSize the number of the last executions to calculate the failure rate
+     * @param failureRatePercent the failure rate opening the circuit
+     * @param openDuration the duration of the open circuit before probing
+     * @param executor an executor to chain the call to
+     * @return a CircuitBreakerExecutor */
+    static CircuitBreakerExecutor of(final int windowSize, final double failureRatePercent, final Duration openDuration, final Executor executor) {
+        return new CircuitBreakerExecutorImpl(windowSize, failureRatePercent, openDuration, executor);
+    }
+
+    /**
+     * The states of the circuit.
+     */
+    public static enum State {
+        /** Executes and records all executions. */
+        CLOSED,
+        /** Rejects all executions. */
+        OPEN,
+        /** Executes a single probe and rejects all other executions. */
+        HALF_OPEN
+    }
+}
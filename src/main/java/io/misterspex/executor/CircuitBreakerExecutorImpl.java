@@ -0,0 +1,207 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static java.lang.System.nanoTime;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+final class CircuitBreakerExecutorImpl extends ChainExecutorSupport implements CircuitBreakerExecutor {
+
+    private final int windowSize;
+    private final long failureThreshold;
+    private final long openNanos;
+    private final AtomicReference<Circuit> circuit;
+    private final LongAdder rejected = new LongAdder();
+
+    protected CircuitBreakerExecutorImpl(final int windowSize, final double failureRatePercent, final Duration openDuration) {
+        super(null);
+        this.windowSize = assertWindowSize(windowSize);
+        this.failureThreshold = failureThresholdOf(windowSize, failureRatePercent);
+        this.openNanos = assertOpenDuration(openDuration);
+        this.circuit = new AtomicReference<>(closed());
+    }
+
+    protected CircuitBreakerExecutorImpl(final int windowSize, final double failureRatePercent, final Duration openDuration, final Executor chain) {
+        super(chain);
+        assertExecutor(chain);
+        this.windowSize = assertWindowSize(windowSize);
+        this.failureThreshold = failureThresholdOf(windowSize, failureRatePercent);
+        this.openNanos = assertOpenDuration(openDuration);
+        this.circuit = new AtomicReference<>(closed());
+    }
+
+    @Override
+    public <V> V execute(final Callable<V> executable) throws ExecutionException {
+        assertExecutableNotNull(executable);
+        final Circuit current = acquire();
+        final V value;
+        try {
+            value = doExecute(executable);
+        } catch (final Exception e) {
+            failed(current);
+            if (e instanceof ExecutionException) {
+                throw (ExecutionException) e;
+            }
+            throw new ExecutionException(e);
+        } catch (final Error e) {
+            // Settle a half open probe on every path. Otherwise the circuit stays half open and rejects forever
+            failed(current);
+            throw e;
+        }
+        succeeded(current);
+        return value;
+    }
+
+    private Circuit acquire() throws ExecutionRejectedException {
+        final Circuit current = this.circuit.get();
+        if (current.state == State.CLOSED) {
+            return current;
+        }
+        if (current.state == State.OPEN && nanoTime() - current.openedAt >= this.openNanos) {
+            final Circuit probe = new Circuit(State.HALF_OPEN, current.openedAt, null);
+            if (this.circuit.compareAndSet(current, probe)) {
+                return probe;
+            }
+        }
+        this.rejected.increment();
+        throw new ExecutionRejectedException("Circuit is " + current.state);
+    }
+
+    private void succeeded(final Circuit current) {
+        if (current.state == State.HALF_OPEN) {
+            this.circuit.compareAndSet(current, closed());
+        } else {
+            current.window.record(false);
+        }
+    }
+
+    private void failed(final Circuit current) {
+        if (current.state == State.HALF_OPEN || current.window.record(true) >= this.failureThreshold) {
+            this.circuit.compareAndSet(current, new Circuit(State.OPEN, nanoTime(), null));
+        }
+    }
+
+    private Circuit closed() {
+        return new Circuit(State.CLOSED, 0L, new Window(this.windowSize));
+    }
+
+    @Override
+    public State state() {
+        return this.circuit.get().state;
+    }
+
+    @Override
+    public long rejected() {
+        return this.rejected.sum();
+    }
+
+    int assertWindowSize(final int windowSize) throws IllegalArgumentException {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be > 0. Is: " + windowSize);
+        }
+        return windowSize;
+    }
+
+    long failureThresholdOf(final int windowSize, final double failureRatePercent) throws IllegalArgumentException {
+        if (!(failureRatePercent > 0.0 && failureRatePercent <= 100.0)) {
+            throw new IllegalArgumentException("Failure rate must be > 0.0 and <= 100.0. Is: " + failureRatePercent);
+        }
+        return Math.max(1L, (long) Math.ceil(windowSize * failureRatePercent / 100.0));
+    }
+
+    long assertOpenDuration(final Duration openDuration) throws IllegalArgumentException {
+        if (openDuration == null) {
+            throw new IllegalArgumentException("Open duration must be provided");
+        }
+        if (openDuration.isNegative()) {
+            throw new IllegalArgumentException("Open duration must be >= 0. Is: " + openDuration);
+        }
+        return openDuration.toNanos();
+    }
+
+    /**
+     * Immutable state of the circuit. A transition replaces the instance.
+     */
+    private static final class Circuit {
+
+        final State state;
+        final long openedAt;
+        final Window window;
+
+        Circuit(final State state, final long openedAt, final Window window) {
+            this.state = state;
+            this.openedAt = openedAt;
+            this.window = window;
+        }
+    }
+
+    /**
+     * Count based sliding window. Each execution claims the next slot of a ring and exchanges the recorded outcome.
+     * The failure counter follows the exchanged outcomes, so it stays consistent without a lock.
+     */
+    private static final class Window {
+
+        private static final int SUCCESS = 1;
+        private static final int FAILURE = 2;
+
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong index = new AtomicLong();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        Window(final int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        /**
+         * Records an outcome.
+         * @return the number of failures in the window. {@code -1} if the window is not filled yet
+         */
+        long record(final boolean failure) {
+            final long i = this.index.getAndIncrement();
+            final int size = this.outcomes.length();
+            final int outcome = failure ? FAILURE : SUCCESS;
+            final int previous = this.outcomes.getAndSet((int) (i % size), outcome);
+            final int delta = (outcome == FAILURE ? 1 : 0) - (previous == FAILURE ? 1 : 0);
+            final int failures = delta == 0 ? this.failures.get() : this.failures.addAndGet(delta);
+            return i + 1 >= size ? failures : -1;
+        }
+    }
+}
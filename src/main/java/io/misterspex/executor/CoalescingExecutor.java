@@ -0,0 +1,88 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Coalesces concurrent executions of the same key into a single execution.
+ * <p>The first caller of a key executes the {@code Callable}. Concurrent callers of the same key don't execute their
+ * {@code Callable} but wait for the result or the exception of the running execution. The key is released once
+ * the execution completes, so a following call executes again. Combine it with a {@link CachingExecutor} to prevent
+ * cache miss storms:</p>
+ * <pre>
+ * cache.execute(key, () -&gt; coalescing.execute(key, () -&gt; catalog.load(key)));
+ * </pre>
+ * <p>The implementation takes no global lock.</p>
+ * @param <K> the type of the keys
+ * @param <V> the type of the results
+ */
+public interface CoalescingExecutor<K, V> {
+
+    /**
+     * Executes the given {@code Callable} or waits for the running execution of the same key.
+     * @param key the key of the execution
+     * @param executable the executable
+     * @return the result of the execution
+     * @throws IllegalArgumentException if key or executable is {@code null}
+     * @throws ExecutionException if an exception raise during execution
+     */
+    V execute(K key, Callable<? extends V> executable) throws ExecutionException;
+
+    /**
+     * The number of running executions.
+     * @return the running executions number
+     */
+    int inFlight();
+
+    /**
+     * The number of calls which waited for the execution of another call.
+     * @return the coalesced calls number
+     */
+    long coalesced();
+
+    /** Returns a thread safe instance.
+     * @param <K> the type of the keys
+     * @param <V> the type of the results
+     * @return a CoalescingExecutor */
+    static <K, V> CoalescingExecutor<K, V> of() {
+        return new CoalescingExecutorImpl<>();
+    }
+
+    /** Returns a thread safe instance. The executions call the corresponding method of the given {@code Executor}.
+     * @param <K> the type of the keys
+     * @param <V> the type of the results
+     * @param executor an executor to chain the call to
+     * @return a CoalescingExecutor */
+    static <K, V> CoalescingExecutor<K, V> of(final Executor executor) {
+        return new CoalescingExecutorImpl<>(executor);
+    }
+}
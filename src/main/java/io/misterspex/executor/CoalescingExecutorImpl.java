@@ -0,0 +1,113 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Each running execution is a {@link CompletableFuture} mapped by the key. The leading call publishes its future
+ * with {@code putIfAbsent}, completes it and removes it by identity.
+ *
+ * @author sascha.kohlmann
+ */
+final class CoalescingExecutorImpl<K, V> extends ChainExecutorSupport implements CoalescingExecutor<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    CoalescingExecutorImpl() {
+        super(null);
+    }
+
+    CoalescingExecutorImpl(final Executor chain) {
+        super(chain);
+        assertExecutor(chain);
+    }
+
+    @Override
+    public V execute(final K key, final Callable<? extends V> executable) throws ExecutionException {
+        if (key == null) {
+            throw new IllegalArgumentException("Key must be provided");
+        }
+        assertExecutableNotNull(executable);
+        final CompletableFuture<V> own = new CompletableFuture<>();
+        final CompletableFuture<V> running = this.inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            this.coalesced.increment();
+            return await(running);
+        }
+        try {
+            final V value = doExecute(executable);
+            own.complete(value);
+            return value;
+        } catch (final Exception e) {
+            own.completeExceptionally(e);
+            if (e instanceof ExecutionException) {
+                throw (ExecutionException) e;
+            }
+            throw new ExecutionException(e);
+        } catch (final Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlight.remove(key, own);
+        }
+    }
+
+    private V await(final CompletableFuture<V> running) throws ExecutionException {
+        try {
+            return running.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException(e);
+        } catch (final java.util.concurrent.ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throwExecutionException((Exception) cause);
+            return null;
+        }
+    }
+
+    @Override
+    public int inFlight() {
+        return this.inFlight.size();
+    }
+
+    @Override
+    public long coalesced() {
+        return this.coalesced.sum();
+    }
+}
@@ -0,0 +1,96 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+/**
+ * Limits the number of concurrent executions and rejects executions exceeding the limit with an
+ * {@link ExecutionRejectedException}. Use an instance per dependency as bulkhead.
+ * <p>The limit adapts to the observed round trip time of the executions. The implementation compares the average
+ * round trip time of a short window with a slowly moving long term average. If the short term average rises, the
+ * dependency queues requests and the limit shrinks by the gradient of both averages. Otherwise the limit grows by
+ * the square root of the current limit as long as the executions use at least half of the limit.</p>
+ * <p>The implementation is thread safe and lock-free.</p>
+ */
+public interface ConcurrencyLimitExecutor extends Executor {
+
+    /**
+     * The current limit of concurrent executions.
+     * @return the current limit
+     */
+    int limit();
+
+    /**
+     * The number of current executions.
+     * @return the current executions number
+     */
+    int inFlight();
+
+    /**
+     * The number of rejected executions.
+     * @return the rejected execution number
+     */
+    long rejected();
+
+    /** Returns a thread safe instance with an initial limit of 20 and a limit between 1 and 200.
+     * @return a ConcurrencyLimitExecutor */
+    static ConcurrencyLimitExecutor of() {
+        return of(20, 1, 200);
+    }
+
+    /** Returns a thread safe instance with an initial limit of 20 and a limit between 1 and 200.
+     * {@link #execute(java.lang.Runnable)} and {@link #execute(java.util.concurrent.Callable)} calls there corresponding
+     * method of the given {@code Executor}.
+     * @param executor an executor to chain the call to
+     * @return a ConcurrencyLimitExecutor */
+    static ConcurrencyLimitExecutor of(final Executor executor) {
+        return of(20, 1, 200, executor);
+    }
+
+    /** Returns a thread safe instance.
+     * @param initialLimit the limit before the first adaption
+     * @param minLimit the minimum limit
+     * @param maxLimit the maximum limit
+     * @return a ConcurrencyLimitExecutor */
+    static ConcurrencyLimitExecutor of(final int initialLimit, final int minLimit, final int maxLimit) {
+        return new ConcurrencyLimitExecutorImpl(initialLimit, minLimit, maxLimit, ConcurrencyLimitExecutorImpl.WINDOW_NANOS);
+    }
+
+    /** Returns a thread safe instance. {@link #execute(java.lang.Runnable)} and
+     * {@link #execute(java.util.concurrent.Callable)} calls there corresponding method of the given {@code Executor}.
+     * @param initialLimit the limit before the first adaption
+     * @param minLimit the minimum limit
+     * @param maxLimit the maximum limit
+     * @param executor an executor to chain the call to
+     * @return a ConcurrencyLimitExecutor */
+    static ConcurrencyLimitExecutor of(final int initialLimit, final int minLimit, final int maxLimit, final Executor executor) {
+        return new ConcurrencyLimitExecutorImpl(initialLimit, minLimit, maxLimit, ConcurrencyLimitExecutorImpl.WINDOW_NANOS, executor);
+    }
+}
@@ -0,0 +1,179 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static java.lang.System.nanoTime;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gradient based adaptive limit. The round trip times are summed in striped counters. The first execution after the
+ * end of a window wins a compare-and-set on the window end and adjusts the limit. All other executions only add
+ * their round trip time.
+ *
+ * @author sascha.kohlmann
+ */
+final class ConcurrencyLimitExecutorImpl extends ChainExecutorSupport implements ConcurrencyLimitExecutor {
+
+    static final long WINDOW_NANOS = 100_000_000L;
+
+    /** Short term round trip time may exceed the long term average by this factor before the limit shrinks. */
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_TERM_WEIGHT = 0.05;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long window;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder rttNanos = new LongAdder();
+    private final LongAdder rttCount = new LongAdder();
+    private final LongAccumulator peakInFlight = new LongAccumulator(Math::max, 0L);
+    private final AtomicLong windowEnd;
+    private volatile double limit;
+    // Written by the execution winning the window end CAS. Volatile, because the winner changes between windows
+    private volatile double longRtt;
+
+    ConcurrencyLimitExecutorImpl(final int initialLimit, final int minLimit, final int maxLimit, final long window) {
+        super(null);
+        assertLimits(initialLimit, minLimit, maxLimit);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.window = window;
+        this.windowEnd = new AtomicLong(nanoTime() + window);
+    }
+
+    ConcurrencyLimitExecutorImpl(final int initialLimit, final int minLimit, final int maxLimit, final long window, final Executor chain) {
+        super(chain);
+        assertExecutor(chain);
+        assertLimits(initialLimit, minLimit, maxLimit);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.window = window;
+        this.windowEnd = new AtomicLong(nanoTime() + window);
+    }
+
+    @Override
+    public <V> V execute(final Callable<V> executable) throws ExecutionException {
+        assertExecutableNotNull(executable);
+        final int current = acquire();
+        this.peakInFlight.accumulate(current);
+        final long start = nanoTime();
+        try {
+            return doExecute(executable);
+        } catch (final Exception e) {
+            if (e instanceof ExecutionException) {
+                throw (ExecutionException) e;
+            }
+            throw new ExecutionException(e);
+        } finally {
+            this.inFlight.decrementAndGet();
+            record(nanoTime() - start);
+        }
+    }
+
+    private int acquire() throws ExecutionRejectedException {
+        int current;
+        do {
+            current = this.inFlight.get();
+            if (current >= limit()) {
+                this.rejected.increment();
+                throw new ExecutionRejectedException("Concurrency limit reached: " + current);
+            }
+        } while (!this.inFlight.compareAndSet(current, current + 1));
+        return current + 1;
+    }
+
+    private void record(final long rtt) {
+        this.rttNanos.add(rtt);
+        this.rttCount.increment();
+        final long now = nanoTime();
+        final long end = this.windowEnd.get();
+        if (now - end >= 0 && this.windowEnd.compareAndSet(end, now + this.window)) {
+            adjust();
+        }
+    }
+
+    private void adjust() {
+        final long count = this.rttCount.sumThenReset();
+        final long nanos = this.rttNanos.sumThenReset();
+        final long peak = this.peakInFlight.getThenReset();
+        if (count == 0) {
+            return;
+        }
+        final double shortRtt = Math.max(1.0, (double) nanos / count);
+        final double longRtt = this.longRtt == 0.0
+                               ? shortRtt
+                               : this.longRtt * (1.0 - LONG_TERM_WEIGHT) + shortRtt * LONG_TERM_WEIGHT;
+        // Recover faster from a long term average left high by a past overload
+        this.longRtt = longRtt > shortRtt * 2.0 ? longRtt * 0.9 : longRtt;
+
+        final double current = this.limit;
+        final double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * this.longRtt / shortRtt));
+        final boolean applicationLimited = peak < current / 2.0;
+        final double target = applicationLimited ? current * gradient : current * gradient + Math.sqrt(current);
+        final double smoothed = current * (1.0 - SMOOTHING) + target * SMOOTHING;
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, smoothed));
+    }
+
+    @Override
+    public int limit() {
+        return (int) this.limit;
+    }
+
+    @Override
+    public int inFlight() {
+        return this.inFlight.get();
+    }
+
+    @Override
+    public long rejected() {
+        return this.rejected.sum();
+    }
+
+    void assertLimits(final int initialLimit, final int minLimit, final int maxLimit) throws IllegalArgumentException {
+        if (minLimit <= 0) {
+            throw new IllegalArgumentException("Min limit must be > 0. Is: " + minLimit);
+        }
+        if (maxLimit < minLimit) {
+            throw new IllegalArgumentException("Max limit must be >= " + minLimit + ". Is: " + maxLimit);
+        }
+        if (initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Initial limit must be >= " + minLimit + " and <= " + maxLimit + ". Is: " + initialLimit);
+        }
+    }
+}
@@ -56,4 +56,23 @@ public interface Executor {
      * @throws ExecutionException if an exception raise during execution
      */
     <V> V execute(final Callable<V> executable) throws ExecutionException;
+
+    /**
+     * Executes the given {@code Callable} and returns the result together with the duration and the number of trials
+     * or throws an exception in case of failure.
+     * <p>The {@link Outcome} is bound to this execution only. Other than {@link TimingExecutor#duration()} and
+     * {@link TrialExecutor#trials()} it is not kept per thread and is safe to read on another thread.</p>
+     * <p>The default implementation measures the duration of {@link #execute(java.util.concurrent.Callable)}
+     * and reports a single trial.</p>
+     * @param executable the {@code Callable} to execute
+     * @param <V> the return type
+     * @return the outcome of the execution
+     * @throws ExecutionException if an exception raise during execution
+     */
+    public default <V> Outcome<V> executeTimed(final Callable<V> executable) throws ExecutionException {
+        ChainExecutorSupport.assertExecutableNotNull(executable);
+        final long start = System.nanoTime();
+        final V value = execute(executable);
+        return new Outcome<>(value, System.nanoTime() - start, 1);
+    }
 }
@@ -0,0 +1,105 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Executes a second attempt if the first attempt doesn't finish in time and returns the first successful result.
+ * <p>Both attempts run on the given {@link ExecutorService}. The calling thread waits for the hedging delay. If the
+ * first attempt hasn't finished until then, the second attempt starts. The first successful attempt wins and the
+ * other attempt is cancelled and interrupted. The execution fails only if both attempts fail.</p>
+ * <p>The delay is either fixed or the given percentile of the latencies of the previous executions. A hedge doubles
+ * the load of the slowest executions only, e.g. a 95th percentile delay adds 5% load but cuts the tail latency
+ * caused by occasional slow replicas.</p>
+ * <p>Executables must be idempotent.</p>
+ */
+public interface HedgingExecutor extends Executor {
+
+    /**
+     * The current delay before the second attempt.
+     * @return the current delay
+     */
+    Duration delay();
+
+    /**
+     * The number of executions starting a second attempt.
+     * @return the number of hedges
+     */
+    long hedged();
+
+    /**
+     * The number of executions won by the second attempt.
+     * @return the number of won hedges
+     */
+    long won();
+
+    /** Returns a thread safe instance with a fixed delay.
+     * @param delay the delay before the second attempt
+     * @param executorService the service executing the attempts
+     * @return a HedgingExecutor */
+    static HedgingExecutor of(final Duration delay, final ExecutorService executorService) {
+        return new HedgingExecutorImpl(delay, Double.NaN, executorService);
+    }
+
+    /** Returns a thread safe instance with a fixed delay. The attempts call the corresponding method of the given
+     * {@code Executor}.
+     * @param delay the delay before the second attempt
+     * @param executorService the service executing the attempts
+     * @param executor an executor to chain the call to
+     * @return a HedgingExecutor */
+    static HedgingExecutor of(final Duration delay, final ExecutorService executorService, final Executor executor) {
+        return new HedgingExecutorImpl(delay, Double.NaN, executorService, executor);
+    }
+
+    /** Returns a thread safe instance with a delay following the given percentile of the latencies of the
+     * successful executions. The percentile is recalculated every second.
+     * @param percentile the percentile of the latencies, e.g. {@code 95.0}
+     * @param minDelay the minimum delay. Also the delay until the first calculation of the percentile
+     * @param executorService the service executing the attempts
+     * @return a HedgingExecutor */
+    static HedgingExecutor of(final double percentile, final Duration minDelay, final ExecutorService executorService) {
+        return new HedgingExecutorImpl(minDelay, HedgingExecutorImpl.assertPercentile(percentile), executorService);
+    }
+
+    /** Returns a thread safe instance with a delay following the given percentile of the latencies of the
+     * successful executions. The percentile is recalculated every second. The attempts call the corresponding method
+     * of the given {@code Executor}.
+     * @param percentile the percentile of the latencies, e.g. {@code 95.0}
+     * @param minDelay the minimum delay. Also the delay until the first calculation of the percentile
+     * @param executorService the service executing the attempts
+     * @param executor an executor to chain the call to
+     * @return a HedgingExecutor */
+    static HedgingExecutor of(final double percentile, final Duration minDelay, final ExecutorService executorService, final Executor executor) {
+        return new HedgingExecutorImpl(minDelay, HedgingExecutorImpl.assertPercentile(percentile), executorService, executor);
+    }
+}
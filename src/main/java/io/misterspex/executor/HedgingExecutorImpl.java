@@ -0,0 +1,225 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static java.lang.System.nanoTime;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+final class HedgingExecutorImpl extends ChainExecutorSupport implements HedgingExecutor {
+
+    static final long WINDOW_NANOS = 1_000_000_000L;
+    static final long MIN_SAMPLES = 20L;
+
+    private static final int NONE = 0;
+    private static final int PRIMARY = 1;
+    private static final int HEDGE = 2;
+
+    private final ExecutorService executorService;
+    private final long minDelayNanos;
+    private final double percentile;
+    private final LatencyHistogram latencies;
+    private final AtomicLong windowEnd;
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder won = new LongAdder();
+    private volatile long delayNanos;
+
+    /**
+     * @param percentile the percentile of the delay. {@code NaN} for a fixed delay
+     */
+    HedgingExecutorImpl(final Duration delay, final double percentile, final ExecutorService executorService) {
+        super(null);
+        this.executorService = assertExecutorService(executorService);
+        this.minDelayNanos = assertDelay(delay);
+        this.delayNanos = this.minDelayNanos;
+        this.percentile = percentile;
+        this.latencies = Double.isNaN(percentile) ? null : new LatencyHistogram();
+        this.windowEnd = new AtomicLong(nanoTime() + WINDOW_NANOS);
+    }
+
+    /**
+     * @param percentile the percentile of the delay. {@code NaN} for a fixed delay
+     */
+    HedgingExecutorImpl(final Duration delay, final double percentile, final ExecutorService executorService, final Executor chain) {
+        super(chain);
+        assertExecutor(chain);
+        this.executorService = assertExecutorService(executorService);
+        this.minDelayNanos = assertDelay(delay);
+        this.delayNanos = this.minDelayNanos;
+        this.percentile = percentile;
+        this.latencies = Double.isNaN(percentile) ? null : new LatencyHistogram();
+        this.windowEnd = new AtomicLong(nanoTime() + WINDOW_NANOS);
+    }
+
+    @Override
+    public <V> V execute(final Callable<V> executable) throws ExecutionException {
+        assertExecutableNotNull(executable);
+        final long start = nanoTime();
+        final CompletableFuture<V> first = new CompletableFuture<>();
+        final AtomicInteger pending = new AtomicInteger(1);
+        final AtomicInteger winner = new AtomicInteger(NONE);
+        final Future<?> primary;
+        try {
+            primary = this.executorService.submit(attempt(executable, first, pending, winner, PRIMARY));
+        } catch (final RejectedExecutionException e) {
+            throw new ExecutionException(e.getMessage(), e);
+        }
+        Future<?> hedge = null;
+        try {
+            V value;
+            try {
+                value = first.get(this.delayNanos, NANOSECONDS);
+            } catch (final TimeoutException e) {
+                hedge = hedge(executable, first, pending, winner);
+                value = first.get();
+            }
+            if (winner.get() == HEDGE) {
+                this.won.increment();
+            }
+            record(nanoTime() - start);
+            return value;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException(e);
+        } catch (final java.util.concurrent.ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throwExecutionException((Exception) cause);
+            return null;
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    private <V> Future<?> hedge(final Callable<V> executable, final CompletableFuture<V> first, final AtomicInteger pending, final AtomicInteger winner) {
+        pending.incrementAndGet();
+        try {
+            final Future<?> hedge = this.executorService.submit(attempt(executable, first, pending, winner, HEDGE));
+            this.hedged.increment();
+            return hedge;
+        } catch (final RejectedExecutionException e) {
+            pending.decrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * The first successful attempt sets the winner and completes the result. A failure completes the result only if
+     * no other attempt is pending.
+     */
+    private <V> Runnable attempt(final Callable<V> executable, final CompletableFuture<V> first, final AtomicInteger pending,
+                                 final AtomicInteger winner, final int attempt) {
+        return () -> {
+            try {
+                final V value = doExecute(executable);
+                if (winner.compareAndSet(NONE, attempt)) {
+                    first.complete(value);
+                }
+            } catch (final Throwable t) {
+                if (pending.decrementAndGet() == 0) {
+                    first.completeExceptionally(t);
+                }
+            }
+        };
+    }
+
+    private void record(final long nanos) {
+        if (this.latencies == null) {
+            return;
+        }
+        this.latencies.record(nanos);
+        final long now = nanoTime();
+        final long end = this.windowEnd.get();
+        if (now - end >= 0 && this.windowEnd.compareAndSet(end, now + WINDOW_NANOS)) {
+            final LatencyHistogram.Snapshot snapshot = this.latencies.snapshotAndReset();
+            if (snapshot.count() >= MIN_SAMPLES) {
+                this.delayNanos = Math.max(this.minDelayNanos, snapshot.percentile(this.percentile));
+            }
+        }
+    }
+
+    @Override
+    public Duration delay() {
+        return Duration.ofNanos(this.delayNanos);
+    }
+
+    @Override
+    public long hedged() {
+        return this.hedged.sum();
+    }
+
+    @Override
+    public long won() {
+        return this.won.sum();
+    }
+
+    static double assertPercentile(final double percentile) throws IllegalArgumentException {
+        if (!(percentile > 0.0 && percentile < 100.0)) {
+            throw new IllegalArgumentException("Percentile must be > 0.0 and < 100.0. Is: " + percentile);
+        }
+        return percentile;
+    }
+
+    ExecutorService assertExecutorService(final ExecutorService executorService) throws IllegalArgumentException {
+        if (executorService == null) {
+            throw new IllegalArgumentException("ExecutorService must be provided");
+        }
+        return executorService;
+    }
+
+    long assertDelay(final Duration delay) throws IllegalArgumentException {
+        if (delay == null) {
+            throw new IllegalArgumentException("Delay must be provided");
+        }
+        if (delay.isNegative()) {
+            throw new IllegalArgumentException("Delay must be >= 0. Is: " + delay);
+        }
+        return delay.toNanos();
+    }
+}
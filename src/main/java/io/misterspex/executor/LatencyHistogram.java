@@ -0,0 +1,250 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed memory, lock-free histogram of latencies in nanoseconds.
+ *
+ * <p>Values are counted in logarithmic buckets. Each power of two range is divided into 32 linear sub buckets.
+ * Values lower than 32 are counted exactly, all other values with a relative error of less than 3.2%.
+ * The histogram covers the whole positive {@code long} range with 1888 buckets. Recording a value allocates
+ * nothing.</p>
+ *
+ * <p>A {@link Snapshot} offers the count, minimum, maximum, mean and percentiles of the recorded values.
+ * Snapshots taken during concurrent recording may miss values recorded at the same time.</p>
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Records a latency. Negative values are recorded as {@code 0}.
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        this.counts.getAndIncrement(indexOf(value));
+        this.total.add(value);
+        updateMin(value);
+        updateMax(value);
+    }
+
+    /**
+     * Returns a snapshot of the recorded values.
+     * @return a snapshot
+     */
+    public Snapshot snapshot() {
+        final long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = this.counts.get(i);
+        }
+        return new Snapshot(snapshot, this.total.sum(), this.min.get(), this.max.get());
+    }
+
+    /**
+     * Returns a snapshot of the recorded values and resets the histogram. Each concurrently recorded value is either
+     * part of the returned snapshot or remains in the histogram.
+     * @return a snapshot
+     */
+    public Snapshot snapshotAndReset() {
+        final long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = this.counts.getAndSet(i, 0);
+        }
+        return new Snapshot(snapshot, this.total.sumThenReset(), this.min.getAndSet(Long.MAX_VALUE), this.max.getAndSet(Long.MIN_VALUE));
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        snapshotAndReset();
+    }
+
+    private void updateMin(final long value) {
+        long current = this.min.get();
+        while (value < current && !this.min.compareAndSet(current, value)) {
+            current = this.min.get();
+        }
+    }
+
+    private void updateMax(final long value) {
+        long current = this.max.get();
+        while (value > current && !this.max.compareAndSet(current, value)) {
+            current = this.max.get();
+        }
+    }
+
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int bucket = exponent - SUB_BUCKET_BITS + 1;
+        final int subBucket = (int) (value >>> (bucket - 1)) & SUB_BUCKET_MASK;
+        return (bucket << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long highestValueOf(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int bucket = index >>> SUB_BUCKET_BITS;
+        final long lowest = (long) ((index & SUB_BUCKET_MASK) + SUB_BUCKET_COUNT) << (bucket - 1);
+        return lowest + (1L << (bucket - 1)) - 1;
+    }
+
+    /**
+     * Immutable state of a {@link LatencyHistogram}.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long total;
+        private final long min;
+        private final long max;
+
+        private Snapshot(final long[] counts, final long total, final long min, final long max) {
+            long count = 0;
+            for (final long c : counts) {
+                count += c;
+            }
+            this.counts = counts;
+            this.count = count;
+            this.total = total;
+            this.min = count == 0 ? 0 : min;
+            this.max = count == 0 ? 0 : max;
+        }
+
+        /**
+         * The number of recorded values.
+         * @return the number of values
+         */
+        public long count() {
+            return this.count;
+        }
+
+        /**
+         * The lowest recorded value or {@code 0} if empty.
+         * @return the lowest value in nanoseconds
+         */
+        public long min() {
+            return this.min;
+        }
+
+        /**
+         * The highest recorded value or {@code 0} if empty.
+         * @return the highest value in nanoseconds
+         */
+        public long max() {
+            return this.max;
+        }
+
+        /**
+         * The arithmetic mean of the recorded values or {@code 0} if empty.
+         * @return the mean in nanoseconds
+         */
+        public double mean() {
+            if (this.count == 0) {
+                return 0;
+            }
+            return (double) this.total / this.count;
+        }
+
+        /**
+         * The value at the given percentile. The value is the highest value of the bucket containing the percentile
+         * but never higher than {@link #max()}.
+         * @param percentile the percentile between {@code 0.0} and {@code 100.0}
+         * @return the value in nanoseconds or {@code 0} if empty
+         * @throws IllegalArgumentException if <em>percentile</em> is not between {@code 0.0} and {@code 100.0}
+         */
+        public long percentile(final double percentile) {
+            if (!(percentile >= 0.0 && percentile <= 100.0)) {
+                throw new IllegalArgumentException("Percentile must be >= 0.0 and <= 100.0. Is: " + percentile);
+            }
+            if (this.count == 0) {
+                return 0;
+            }
+            final long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * this.count));
+            long seen = 0;
+            for (int i = 0; i < this.counts.length; i++) {
+                seen += this.counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueOf(i), this.max);
+                }
+            }
+            return this.max;
+        }
+
+        /**
+         * The median.
+         * @return the 50th percentile in nanoseconds
+         */
+        public long p50() {
+            return percentile(50.0);
+        }
+
+        /**
+         * The 99th percentile.
+         * @return the 99th percentile in nanoseconds
+         */
+        public long p99() {
+            return percentile(99.0);
+        }
+
+        /**
+         * The 99.9th percentile.
+         * @return the 99.9th percentile in nanoseconds
+         */
+        public long p999() {
+            return percentile(99.9);
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" + "count=" + count + ", min=" + min + ", max=" + max + ", mean=" + mean()
+                    + ", p50=" + p50() + ", p99=" + p99() + ", p999=" + p999() + '}';
+        }
+    }
+}
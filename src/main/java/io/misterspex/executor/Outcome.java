@@ -0,0 +1,80 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.time.Duration;
+
+/**
+ * The value of an execution together with the duration and the number of trials.
+ * <p>Returned by {@link Executor#executeTimed(java.util.concurrent.Callable)}. Other than
+ * {@link TimingExecutor#duration()} and {@link TrialExecutor#trials()} an {@code Outcome} belongs to a single
+ * execution and may be handed over to other threads.</p>
+ *
+ * @param <V> the type of the value
+ * @author sascha.kohlmann
+ */
+public final class Outcome<V> {
+
+    private final V value;
+    private final long nanos;
+    private final int trials;
+
+    Outcome(final V value, final long nanos, final int trials) {
+        this.value = value;
+        this.nanos = nanos;
+        this.trials = trials;
+    }
+
+    /** @return the value of the execution. May be {@code null} */
+    public V value() {
+        return this.value;
+    }
+
+    /** @return the duration of the execution in nanoseconds */
+    public long nanos() {
+        return this.nanos;
+    }
+
+    /** @return the duration of the execution */
+    public Duration duration() {
+        return Duration.ofNanos(this.nanos);
+    }
+
+    /** @return the number of trials. {@code 1} for executors without retries */
+    public int trials() {
+        return this.trials;
+    }
+
+    @Override
+    public String toString() {
+        return "Outcome{" + "value=" + value + ", nanos=" + nanos + ", trials=" + trials + '}';
+    }
+}
@@ -0,0 +1,88 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.time.Duration;
+
+/**
+ * Limits the rate of executions to a number of permits per second.
+ * <p>The implementation is a generic cell rate algorithm. The theoretical arrival time of the next permit is the only
+ * state and is reserved by compare-and-set, so no lock is taken. A reserved permit in the future parks the calling
+ * thread until the permit is due.</p>
+ * <p>An execution either waits for a permit, waits up to a maximum duration or fails fast. An execution not getting
+ * a permit in time throws an {@link ExecutionRejectedException} without reserving a permit.</p>
+ */
+public interface RateLimitExecutor extends Executor {
+
+    /**
+     * The number of rejected executions.
+     * @return the rejected execution number
+     */
+    long rejected();
+
+    /** Returns a thread safe instance blocking until a permit is available. No burst is allowed.
+     * @param permitsPerSecond the rate of the executions
+     * @return a RateLimitExecutor */
+    static RateLimitExecutor of(final double permitsPerSecond) {
+        return new RateLimitExecutorImpl(permitsPerSecond, 1, RateLimitExecutorImpl.BLOCKING);
+    }
+
+    /** Returns a thread safe instance blocking until a permit is available. No burst is allowed.
+     * {@link #execute(java.lang.Runnable)} and {@link #execute(java.util.concurrent.Callable)} calls there corresponding
+     * method of the given {@code Executor}.
+     * @param permitsPerSecond the rate of the executions
+     * @param executor an executor to chain the call to
+     * @return a RateLimitExecutor */
+    static RateLimitExecutor of(final double permitsPerSecond, final Executor executor) {
+        return new RateLimitExecutorImpl(permitsPerSecond, 1, RateLimitExecutorImpl.BLOCKING, executor);
+    }
+
+    /** Returns a thread safe instance waiting up to {@code maxWait} for a permit.
+     * @param permitsPerSecond the rate of the executions
+     * @param burst the number of permits available at once after an idle period
+     * @param maxWait the maximum wait for a permit. {@link Duration#ZERO} fails fast
+     * @return a RateLimitExecutor */
+    static RateLimitExecutor of(final double permitsPerSecond, final int burst, final Duration maxWait) {
+        return new RateLimitExecutorImpl(permitsPerSecond, burst, RateLimitExecutorImpl.assertMaxWait(maxWait));
+    }
+
+    /** Returns a thread safe instance waiting up to {@code maxWait} for a permit.
+     * {@link #execute(java.lang.Runnable)} and {@link #execute(java.util.concurrent.Callable)} calls there corresponding
+     * method of the given {@code Executor}.
+     * @param permitsPerSecond the rate of the executions
+     * @param burst the number of permits available at once after an idle period
+     * @param maxWait the maximum wait for a permit. {@link Duration#ZERO} fails fast
+     * @param executor an executor to chain the call to
+     * @return a RateLimitExecutor */
+    static RateLimitExecutor of(final double permitsPerSecond, final int burst, final Duration maxWait, final Executor executor) {
+        return new RateLimitExecutorImpl(permitsPerSecond, burst, RateLimitExecutorImpl.assertMaxWait(maxWait), executor);
+    }
+}
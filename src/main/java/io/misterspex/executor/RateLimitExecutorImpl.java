@@ -0,0 +1,153 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static java.lang.System.nanoTime;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+final class RateLimitExecutorImpl extends ChainExecutorSupport implements RateLimitExecutor {
+
+    static final long BLOCKING = Long.MAX_VALUE;
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final long interval;
+    private final long tolerance;
+    private final long maxWaitNanos;
+    private final AtomicLong theoreticalArrival;
+    private final LongAdder rejected = new LongAdder();
+
+    RateLimitExecutorImpl(final double permitsPerSecond, final int burst, final long maxWaitNanos) {
+        super(null);
+        this.interval = intervalOf(permitsPerSecond);
+        this.tolerance = toleranceOf(burst, this.interval);
+        this.maxWaitNanos = maxWaitNanos;
+        this.theoreticalArrival = new AtomicLong(nanoTime());
+    }
+
+    RateLimitExecutorImpl(final double permitsPerSecond, final int burst, final long maxWaitNanos, final Executor chain) {
+        super(chain);
+        assertExecutor(chain);
+        this.interval = intervalOf(permitsPerSecond);
+        this.tolerance = toleranceOf(burst, this.interval);
+        this.maxWaitNanos = maxWaitNanos;
+        this.theoreticalArrival = new AtomicLong(nanoTime());
+    }
+
+    @Override
+    public <V> V execute(final Callable<V> executable) throws ExecutionException {
+        assertExecutableNotNull(executable);
+        awaitPermit(reserve());
+        try {
+            return doExecute(executable);
+        } catch (final Exception e) {
+            if (e instanceof ExecutionException) {
+                throw (ExecutionException) e;
+            }
+            throw new ExecutionException(e);
+        }
+    }
+
+    /**
+     * Reserves the next permit.
+     * @return the due time of the permit
+     */
+    private long reserve() throws ExecutionRejectedException {
+        long tat;
+        long now;
+        long due;
+        do {
+            tat = this.theoreticalArrival.get();
+            now = nanoTime();
+            final long arrival = tat - now > 0 ? tat : now;
+            due = arrival - this.tolerance;
+            if (due - now > this.maxWaitNanos) {
+                this.rejected.increment();
+                throw new ExecutionRejectedException("Rate limit exceeded");
+            }
+            if (this.theoreticalArrival.compareAndSet(tat, arrival + this.interval)) {
+                return due;
+            }
+        } while (true);
+    }
+
+    private void awaitPermit(final long due) throws ExecutionException {
+        long remaining;
+        while ((remaining = due - nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new ExecutionException(new InterruptedException("Interrupted while waiting for a permit"));
+            }
+        }
+    }
+
+    @Override
+    public long rejected() {
+        return this.rejected.sum();
+    }
+
+    static long assertMaxWait(final Duration maxWait) throws IllegalArgumentException {
+        if (maxWait == null) {
+            throw new IllegalArgumentException("Max wait must be provided");
+        }
+        if (maxWait.isNegative()) {
+            throw new IllegalArgumentException("Max wait must be >= 0. Is: " + maxWait);
+        }
+        try {
+            return maxWait.toNanos();
+        } catch (final ArithmeticException e) {
+            return BLOCKING;
+        }
+    }
+
+    long intervalOf(final double permitsPerSecond) throws IllegalArgumentException {
+        if (!(permitsPerSecond > 0.0 && permitsPerSecond <= NANOS_PER_SECOND)) {
+            throw new IllegalArgumentException("Permits per second must be > 0 and <= 1e9. Is: " + permitsPerSecond);
+        }
+        return Math.round(NANOS_PER_SECOND / permitsPerSecond);
+    }
+
+    long toleranceOf(final int burst, final long interval) throws IllegalArgumentException {
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Burst must be > 0. Is: " + burst);
+        }
+        return (burst - 1) * interval;
+    }
+}
@@ -0,0 +1,133 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A retry budget shared by several {@link TrialExecutor} and {@link AsyncTrialExecutor} instances.
+ * <p>The budget is a token bucket. Each successful first trial deposits {@code percent / 100} tokens, each retry
+ * withdraws one token. A retry is refused if less than one token is available and the execution finally fails with
+ * the last failure. So the retries are limited to the given percentage of the successful executions and a failing
+ * dependency doesn't get the multiplied load of all retrying callers.</p>
+ * <p>The bucket starts full. The implementation is thread safe and lock-free.</p>
+ *
+ * @author sascha.kohlmann
+ */
+public final class RetryBudget {
+
+    private static final long MILLIS_PER_TOKEN = 1_000L;
+
+    private final AtomicLong milliTokens;
+    private final long maxMilliTokens;
+    private final long depositMilliTokens;
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    /**
+     * Creates a new budget.
+     * @param percent the percentage of successful first trials refilling the budget
+     * @param maxTokens the maximum number of tokens. Also the number of retries available for a burst of failures
+     * @throws IllegalArgumentException if percent is not between {@code 0.0} and {@code 100.0} or maxTokens is not {@code > 0}
+     */
+    public RetryBudget(final double percent, final int maxTokens) {
+        if (!(percent >= 0.0 && percent <= 100.0)) {
+            throw new IllegalArgumentException("Percent must be >= 0.0 and <= 100.0. Is: " + percent);
+        }
+        if (maxTokens <= 0) {
+            throw new IllegalArgumentException("Max tokens must be > 0. Is: " + maxTokens);
+        }
+        this.depositMilliTokens = Math.round(percent * MILLIS_PER_TOKEN / 100.0);
+        this.maxMilliTokens = maxTokens * MILLIS_PER_TOKEN;
+        this.milliTokens = new AtomicLong(this.maxMilliTokens);
+    }
+
+    /**
+     * Withdraws a token for a retry.
+     * @return {@code true} if the retry is allowed. {@code false} if the budget is exhausted
+     */
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = this.milliTokens.get();
+            if (current < MILLIS_PER_TOKEN) {
+                this.exhausted.increment();
+                return false;
+            }
+        } while (!this.milliTokens.compareAndSet(current, current - MILLIS_PER_TOKEN));
+        this.acquired.increment();
+        return true;
+    }
+
+    /**
+     * Deposits the refill of a successful first trial.
+     */
+    public void deposit() {
+        if (this.depositMilliTokens == 0L) {
+            return;
+        }
+        long current;
+        do {
+            current = this.milliTokens.get();
+            if (current >= this.maxMilliTokens) {
+                return;
+            }
+        } while (!this.milliTokens.compareAndSet(current, Math.min(this.maxMilliTokens, current + this.depositMilliTokens)));
+    }
+
+    /** @return the available tokens */
+    public double tokens() {
+        return this.milliTokens.get() / (double) MILLIS_PER_TOKEN;
+    }
+
+    /** @return the number of allowed retries */
+    public long acquired() {
+        return this.acquired.sum();
+    }
+
+    /** @return the number of retries refused because of an exhausted budget */
+    public long exhausted() {
+        return this.exhausted.sum();
+    }
+
+    static RetryBudget assertBudget(final RetryBudget budget) throws IllegalArgumentException {
+        if (budget == null) {
+            throw new IllegalArgumentException("Retry budget must be provided");
+        }
+        return budget;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryBudget{" + "tokens=" + tokens() + ", acquired=" + acquired() + ", exhausted=" + exhausted() + '}';
+    }
+}
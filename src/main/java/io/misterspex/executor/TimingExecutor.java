@@ -31,6 +31,7 @@
 package io.misterspex.executor;
 
 import java.time.Duration;
+import java.util.Optional;
 
 /**
  * Measures the duration of an execution and returns the value <em>after</em> the last execution.
@@ -44,6 +45,15 @@ public interface TimingExecutor extends Executor {
      */
     Duration duration();
 
+    /**
+     * The aggregated durations of all executions on all threads.
+     * @return the statistics or an empty {@code Optional} if the instance was not created with
+     *         {@link #ofStatistics()} or {@link #ofStatistics(Executor)}
+     */
+    default Optional<TimingStatistics> statistics() {
+        return Optional.empty();
+    }
+
     /** Returns a thread safe instance measuring the execution time.
      * @return a TimingExecutor
      */
@@ -61,4 +71,27 @@ public interface TimingExecutor extends Executor {
     static TimingExecutor of(final Executor executor) {
         return new TimingExecutorImpl(executor);
     }
+
+    /** Returns a thread safe instance measuring the execution time and aggregating the durations of all executions
+     * in {@link TimingStatistics}. A single instance may serve as timer for a whole endpoint:
+     * <pre>
+     * final TimingExecutor timer = TimingExecutor.ofStatistics();
+     * ...
+     * final TimingStatistics.Snapshot snapshot = timer.statistics().get().snapshotAndReset();
+     * </pre>
+     * @return a TimingExecutor
+     */
+    static TimingExecutor ofStatistics() {
+        return new TimingExecutorImpl(new TimingStatistics());
+    }
+
+    /** Returns a thread safe instance measuring the execution time and aggregating the durations of all executions
+     * in {@link TimingStatistics}. {@link #execute(java.lang.Runnable)} and {@link #execute(java.util.concurrent.Callable)}
+     * calls there corresponding method of the given {@code Executor}.
+     * @param executor an executor to chain the call to
+     * @return a TimingExecutor
+     */
+    static TimingExecutor ofStatistics(final Executor executor) {
+        return new TimingExecutorImpl(new TimingStatistics(), executor);
+    }
 }
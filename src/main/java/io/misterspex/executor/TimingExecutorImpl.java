@@ -32,6 +32,7 @@ package io.misterspex.executor;
 
 import java.time.Duration;
 import static java.time.Duration.ofNanos;
+import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicLong;
 import static java.lang.System.nanoTime;
@@ -49,13 +50,31 @@ final class TimingExecutorImpl extends ChainExecutorSupport implements TimingExe
         }
     };
 
+    private final TimingStatistics statistics;
+
     protected TimingExecutorImpl() {
-        super(null);
+        this((TimingStatistics) null);
     }
     
     protected TimingExecutorImpl(final Executor chain) {
+        this(null, chain);
+    }
+
+    /**
+     * @param statistics the aggregated durations. {@code null} for no aggregation
+     */
+    protected TimingExecutorImpl(final TimingStatistics statistics) {
+        super(null);
+        this.statistics = statistics;
+    }
+
+    /**
+     * @param statistics the aggregated durations. {@code null} for no aggregation
+     */
+    protected TimingExecutorImpl(final TimingStatistics statistics, final Executor chain) {
         super(chain);
         assertExecutor(chain);
+        this.statistics = statistics;
     }
 
     @Override
@@ -70,9 +89,41 @@ final class TimingExecutorImpl extends ChainExecutorSupport implements TimingExe
             }
             throw new ExecutionException(e);
         } finally {
-            final long finish = nanoTime();
+            final long duration = nanoTime() - start;
             final AtomicLong durationHolder = DURATION_HOLDER.get();
-            durationHolder.set(finish - start);
+            durationHolder.set(duration);
+            record(duration);
+        }
+    }
+
+    /**
+     * Doesn't update {@link #duration()}. The trials are taken from a chained executor. The chain creates the
+     * single {@link Outcome} with the duration since the start of this executor.
+     */
+    @Override
+    public <V> Outcome<V> executeTimed(final Callable<V> executable) throws ExecutionException {
+        assertExecutableNotNull(executable);
+        final long start = nanoTime();
+        try {
+            final Outcome<V> outcome = doExecuteTimed(executable, start);
+            record(outcome.nanos());
+            return outcome;
+        } catch (final Exception e) {
+            record(nanoTime() - start);
+            if (e instanceof ExecutionException) {
+                throw (ExecutionException) e;
+            }
+            throw new ExecutionException(e);
+        }
+    }
+
+    @Override
+    <V> Outcome<V> executeTimed(final Callable<V> executable, final long start) throws Exception {
+        final long own = nanoTime();
+        try {
+            return doExecuteTimed(executable, start);
+        } finally {
+            record(nanoTime() - own);
         }
     }
 
@@ -80,4 +131,16 @@ final class TimingExecutorImpl extends ChainExecutorSupport implements TimingExe
     public Duration duration() {
         return ofNanos(DURATION_HOLDER.get().get());
     }
+
+    @Override
+    public Optional<TimingStatistics> statistics() {
+        return Optional.ofNullable(this.statistics);
+    }
+
+    private long record(final long duration) {
+        if (this.statistics != null) {
+            this.statistics.record(duration);
+        }
+        return duration;
+    }
 }
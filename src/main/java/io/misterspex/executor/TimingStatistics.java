@@ -0,0 +1,176 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated durations of all executions of a {@link TimingExecutor} on all threads.
+ * <p>The count and the total are striped {@link LongAdder LongAdders}, the minimum and maximum striped
+ * {@link LongAccumulator LongAccumulators}. So recording doesn't contend on a single memory location even
+ * with a high number of cores. Percentiles are taken from a {@link LatencyHistogram}. Recording allocates
+ * nothing.</p>
+ * <p>The values of a {@link Snapshot} are not read atomically in relation to each other.</p>
+ *
+ * @author sascha.kohlmann
+ */
+public final class TimingStatistics {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private volatile long start = System.nanoTime();
+
+    TimingStatistics() {}
+
+    void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        this.count.increment();
+        this.total.add(value);
+        this.min.accumulate(value);
+        this.max.accumulate(value);
+        this.latencies.record(value);
+    }
+
+    /**
+     * Returns a snapshot of the recorded durations.
+     * @return a snapshot
+     */
+    public Snapshot snapshot() {
+        final long now = System.nanoTime();
+        return new Snapshot(this.count.sum(), this.total.sum(), this.min.get(), this.max.get(),
+                            now - this.start, this.latencies.snapshot());
+    }
+
+    /**
+     * Returns a snapshot of the recorded durations and resets the statistics. Use it to report the throughput
+     * and latencies of consecutive intervals.
+     * @return a snapshot
+     */
+    public Snapshot snapshotAndReset() {
+        final long now = System.nanoTime();
+        final long interval = now - this.start;
+        this.start = now;
+        return new Snapshot(this.count.sumThenReset(), this.total.sumThenReset(), this.min.getThenReset(),
+                            this.max.getThenReset(), interval, this.latencies.snapshotAndReset());
+    }
+
+    /**
+     * Removes all recorded durations.
+     */
+    public void reset() {
+        snapshotAndReset();
+    }
+
+    @Override
+    public String toString() {
+        return "TimingStatistics{" + snapshot() + '}';
+    }
+
+    /**
+     * Immutable state of {@link TimingStatistics}.
+     */
+    public static final class Snapshot {
+
+        private final long count;
+        private final long total;
+        private final long min;
+        private final long max;
+        private final long interval;
+        private final LatencyHistogram.Snapshot latencies;
+
+        private Snapshot(final long count, final long total, final long min, final long max, final long interval,
+                         final LatencyHistogram.Snapshot latencies) {
+            this.count = count;
+            this.total = total;
+            this.min = count == 0 ? 0 : min;
+            this.max = count == 0 ? 0 : max;
+            this.interval = interval;
+            this.latencies = latencies;
+        }
+
+        /** @return the number of executions */
+        public long count() {
+            return this.count;
+        }
+
+        /** @return the sum of all durations in nanoseconds */
+        public long totalNanos() {
+            return this.total;
+        }
+
+        /** @return the shortest duration in nanoseconds or {@code 0} if empty */
+        public long min() {
+            return this.min;
+        }
+
+        /** @return the longest duration in nanoseconds or {@code 0} if empty */
+        public long max() {
+            return this.max;
+        }
+
+        /** @return the arithmetic mean of the durations in nanoseconds or {@code 0} if empty */
+        public double mean() {
+            if (this.count == 0) {
+                return 0;
+            }
+            return (double) this.total / this.count;
+        }
+
+        /** @return the time since the creation or the last reset of the statistics */
+        public Duration interval() {
+            return Duration.ofNanos(this.interval);
+        }
+
+        /** @return the executions per second in the {@link #interval()} */
+        public double throughput() {
+            if (this.interval <= 0) {
+                return 0;
+            }
+            return this.count * 1_000_000_000.0 / this.interval;
+        }
+
+        /** @return the latency percentiles */
+        public LatencyHistogram.Snapshot latencies() {
+            return this.latencies;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" + "count=" + count + ", totalNanos=" + total + ", min=" + min + ", max=" + max
+                    + ", mean=" + mean() + ", throughput=" + throughput() + ", latencies=" + latencies + '}';
+        }
+    }
+}
@@ -30,10 +30,20 @@
  */
 package io.misterspex.executor;
 
+import java.util.function.Predicate;
+
 /**
  * Implementation executes the given {@code Runnable} or {@code Callable} for a given amount of trials to successful execute them.
  * If the amount of executions violates the trial value an {@link ExecutionException} will be thrown.
  * <p>Executables should be idempotent to minimize side effects.</p>
+ * <p>By default a failed execution is retried immediately. A {@link Backoff} pauses the executing thread between
+ * the trials and a retry predicate stops the trials on non-transient failures:</p>
+ * <pre>
+ * final TrialExecutor executor = TrialExecutor.of(5,
+ *         Backoff.decorrelatedJitter(Duration.ofMillis(10), Duration.ofSeconds(1)),
+ *         TrialExecutor.retryOn(IOException.class));
+ * </pre>
+ * <p>An {@link ExecutionRejectedException} is never retried.</p>
  */
 public interface TrialExecutor extends Executor {
     
@@ -74,4 +84,90 @@ public interface TrialExecutor extends Executor {
     static TrialExecutor of(final int toTry, final Executor executor) {
         return new TrialExecutorImpl(toTry, executor);
     }
+
+    /** Returns a thread safe instance with a maximum of {@code toTry} execution to try pausing with the given
+     * {@code Backoff} between the trials.
+     * @param toTry the number of tries before finally fail
+     * @param backoff the delay between the trials
+     * @return a TrialExecutor */
+    static TrialExecutor of(final int toTry, final Backoff backoff) {
+        return new TrialExecutorImpl(toTry, backoff, e -> true);
+    }
+
+    /** Returns a thread safe instance with a maximum of {@code toTry} execution to try pausing with the given
+     * {@code Backoff} between the trials. An exception not matching {@code retryOn} finally fails the execution
+     * without further trials.
+     * @param toTry the number of tries before finally fail
+     * @param backoff the delay between the trials
+     * @param retryOn decides if a failed execution is retried
+     * @return a TrialExecutor */
+    static TrialExecutor of(final int toTry, final Backoff backoff, final Predicate<? super Exception> retryOn) {
+        return new TrialExecutorImpl(toTry, backoff, retryOn);
+    }
+
+    /** Returns a thread safe instance with a maximum of {@code toTry} execution to try pausing with the given
+     * {@code Backoff} between the trials. An exception not matching {@code retryOn} finally fails the execution
+     * without further trials.
+     * {@link #execute(java.lang.Runnable)} and {@link #execute(java.util.concurrent.Callable)} calls there corresponding
+     * method of the given {@code Executor}.
+     * @param toTry the number of tries before finally fail
+     * @param backoff the delay between the trials
+     * @param retryOn decides if a failed execution is retried
+     * @param executor an executor to chain the call to
+     * @return a TrialExecutor */
+    static TrialExecutor of(final int toTry, final Backoff backoff, final Predicate<? super Exception> retryOn, final Executor executor) {
+        return new TrialExecutorImpl(toTry, backoff, retryOn, executor);
+    }
+
+    /** Returns a thread safe instance with a maximum of {@code toTry} execution to try pausing with the given
+     * {@code Backoff} between the trials. An exception not matching {@code retryOn} finally fails the execution
+     * without further trials. Each retry withdraws a token of the given {@code RetryBudget}. If the budget is exhausted
+     * the execution finally fails without further trials.
+     * @param toTry the number of tries before finally fail
+     * @param backoff the delay between the trials
+     * @param retryOn decides if a failed execution is retried
+     * @param budget the retry budget. May be shared between several instances
+     * @return a TrialExecutor */
+    static TrialExecutor of(final int toTry, final Backoff backoff, final Predicate<? super Exception> retryOn, final RetryBudget budget) {
+        return new TrialExecutorImpl(toTry, backoff, retryOn, RetryBudget.assertBudget(budget));
+    }
+
+    /** Returns a thread safe instance with a maximum of {@code toTry} execution to try pausing with the given
+     * {@code Backoff} between the trials. An exception not matching {@code retryOn} finally fails the execution
+     * without further trials. Each retry withdraws a token of the given {@code RetryBudget}. If the budget is exhausted
+     * the execution finally fails without further trials.
+     * {@link #execute(java.lang.Runnable)} and {@link #execute(java.util.concurrent.Callable)} calls there corresponding
+     * method of the given {@code Executor}.
+     * @param toTry the number of tries before finally fail
+     * @param backoff the delay between the trials
+     * @param retryOn decides if a failed execution is retried
+     * @param budget the retry budget. May be shared between several instances
+     * @param executor an executor to chain the call to
+     * @return a TrialExecutor */
+    static TrialExecutor of(final int toTry, final Backoff backoff, final Predicate<? super Exception> retryOn,
+                            final RetryBudget budget, final Executor executor) {
+        return new TrialExecutorImpl(toTry, backoff, retryOn, RetryBudget.assertBudget(budget), executor);
+    }
+
+    /** Returns a retry predicate matching exceptions which are instances of one of the given types.
+     * @param types the types of the retryable exceptions
+     * @return a retry predicate */
+    @SafeVarargs
+    static Predicate<Exception> retryOn(final Class<? extends Exception>... types) {
+        if (types == null || types.length == 0) {
+            throw new IllegalArgumentException("Types must be provided");
+        }
+        final Class<?>[] retryable = new Class<?>[types.length];
+        for (int i = 0; i < types.length; i++) {
+            retryable[i] = types[i];
+        }
+        return e -> {
+            for (final Class<?> type : retryable) {
+                if (type.isInstance(e)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
 }
@@ -31,7 +31,9 @@
 package io.misterspex.executor;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 /**
  *
@@ -46,17 +48,51 @@ final class TrialExecutorImpl extends ChainExecutorSupport implements TrialExecu
         }
     };
     
+    private static final Predicate<Exception> RETRY_ALL = e -> true;
+
     private final int trials;
+    private final Backoff backoff;
+    private final Predicate<? super Exception> retryOn;
+    private final RetryBudget budget;
     
     protected TrialExecutorImpl(final int trials) {
+        this(trials, Backoff.none(), RETRY_ALL);
+    }
+
+    protected TrialExecutorImpl(final int trials, final Executor chain) {
+        this(trials, Backoff.none(), RETRY_ALL, chain);
+    }
+
+    protected TrialExecutorImpl(final int trials, final Backoff backoff, final Predicate<? super Exception> retryOn) {
+        this(trials, backoff, retryOn, (RetryBudget) null);
+    }
+
+    protected TrialExecutorImpl(final int trials, final Backoff backoff, final Predicate<? super Exception> retryOn, final Executor chain) {
+        this(trials, backoff, retryOn, null, chain);
+    }
+
+    /**
+     * @param budget the shared retry budget. {@code null} for unlimited retries
+     */
+    protected TrialExecutorImpl(final int trials, final Backoff backoff, final Predicate<? super Exception> retryOn, final RetryBudget budget) {
         super(null);
         this.trials = assertTrials(trials);
+        this.backoff = assertBackoff(backoff);
+        this.retryOn = assertRetryOn(retryOn);
+        this.budget = budget;
     }
 
-    protected TrialExecutorImpl(final int trials, final Executor chain) {
+    /**
+     * @param budget the shared retry budget. {@code null} for unlimited retries
+     */
+    protected TrialExecutorImpl(final int trials, final Backoff backoff, final Predicate<? super Exception> retryOn,
+                                final RetryBudget budget, final Executor chain) {
         super(chain);
         assertExecutor(chain);
         this.trials = assertTrials(trials);
+        this.backoff = assertBackoff(backoff);
+        this.retryOn = assertRetryOn(retryOn);
+        this.budget = budget;
     }
 
     @Override
@@ -64,16 +100,100 @@ final class TrialExecutorImpl extends ChainExecutorSupport implements TrialExecu
         assertExecutableNotNull(executable);
         final AtomicInteger trialHolder = TRIAL_HOLDER.get();
         trialHolder.set(0);
-        int localTrialCounter = 0;
-        do {
+        long delayNanos = 0L;
+        for (int trial = 0; ; trial++) {
             try {
                 trialHolder.incrementAndGet();
-                return doExecute(executable);
+                return succeeded(doExecute(executable), trial);
+            } catch (final Exception e) {
+                delayNanos = failed(e, trial, delayNanos);
+            }
+        }
+    }
+
+    /**
+     * Doesn't update {@link #trials()}.
+     */
+    @Override
+    public <V> Outcome<V> executeTimed(final Callable<V> executable) throws ExecutionException {
+        assertExecutableNotNull(executable);
+        return executeTimed(executable, System.nanoTime());
+    }
+
+    @Override
+    <V> Outcome<V> executeTimed(final Callable<V> executable, final long start) throws ExecutionException {
+        long delayNanos = 0L;
+        for (int trial = 0; ; trial++) {
+            try {
+                final V value = succeeded(doExecute(executable), trial);
+                return new Outcome<>(value, System.nanoTime() - start, trial + 1);
             } catch (final Exception e) {
-                localTrialCounter = trialsExhausted(localTrialCounter, e);
+                delayNanos = failed(e, trial, delayNanos);
             }
-        } while(true);
-    } 
+        }
+    }
+
+    <V> V succeeded(final V value, final int trial) {
+        if (trial == 0 && this.budget != null) {
+            this.budget.deposit();
+        }
+        return value;
+    }
+
+    /**
+     * Throws the failure if not retryable or pauses before the next trial.
+     * @return the delay before the next trial
+     */
+    long failed(final Exception e, final int trial, final long previousDelayNanos) throws ExecutionException {
+        if (!retryable(e)) {
+            throwExecutionException(e);
+        }
+        final int failures = trialsExhausted(trial, e);
+        if (this.budget != null && !this.budget.tryAcquire()) {
+            throwExecutionException(e);
+        }
+        final long delayNanos = this.backoff.delayNanos(failures, previousDelayNanos);
+        pause(delayNanos, e);
+        return delayNanos;
+    }
+
+    boolean retryable(final Exception e) {
+        return retryable(this.retryOn, e);
+    }
+
+    /**
+     * Tests the retry predicate with the failure of the executable. A chained executor wraps the failure in an
+     * {@link ExecutionException}, so the predicate is tested with the cause. A rejected execution is never retried.
+     */
+    static boolean retryable(final Predicate<? super Exception> retryOn, final Exception e) {
+        final Exception failure = causeOf(e);
+        return !(failure instanceof ExecutionRejectedException) && retryOn.test(failure);
+    }
+
+    static Exception causeOf(final Exception e) {
+        Exception failure = e;
+        while (failure instanceof ExecutionException && !(failure instanceof ExecutionRejectedException)
+                && failure.getCause() instanceof Exception) {
+            failure = (Exception) failure.getCause();
+        }
+        return failure;
+    }
+
+    /**
+     * Sleeps before the next trial. An interrupt stops the trials and preserves the interrupt status.
+     */
+    void pause(final long delayNanos, final Exception lastFailure) throws ExecutionException {
+        if (delayNanos <= 0L) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lastFailure.addSuppressed(e);
+            throwExecutionException(lastFailure);
+        }
+    }
 
     int trialsExhausted(final int tries, final Exception toThrow) throws ExecutionException {
         if (tries == toTry()) {
@@ -89,6 +209,20 @@ final class TrialExecutorImpl extends ChainExecutorSupport implements TrialExecu
         return trials;
     }
 
+    Backoff assertBackoff(final Backoff backoff) throws IllegalArgumentException {
+        if (backoff == null) {
+            throw new IllegalArgumentException("Backoff must be provided");
+        }
+        return backoff;
+    }
+
+    Predicate<? super Exception> assertRetryOn(final Predicate<? super Exception> retryOn) throws IllegalArgumentException {
+        if (retryOn == null) {
+            throw new IllegalArgumentException("Retry predicate must be provided");
+        }
+        return retryOn;
+    }
+
     int toTry() {
         return this.trials;
     }
@@ -0,0 +1,147 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Access to virtual threads if supported by the runtime.
+ * <p>The library is compiled for Java 8. The virtual thread API of Java 21 is therefore looked up by reflection once.
+ * On runtimes without virtual threads all methods fall back to platform daemon threads.</p>
+ * <p>Use the {@code ExecutorService} for {@link io.misterspex.executor.scientist.Experiment Experiments} executing
+ * blocking <em>control</em> and <em>candidate</em> calls. A virtual thread per execution removes the limit of a
+ * sized pool:</p>
+ * <pre>
+ * final Experiment&lt;String&gt; experiment = new Experiment&lt;&gt;("lookup", VirtualThreads.newExecutorService());
+ * </pre>
+ *
+ * @author sascha.kohlmann
+ */
+public final class VirtualThreads {
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR;
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+
+    static {
+        Method newExecutor = null;
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        try {
+            final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            newExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+            // Fails on runtimes with virtual threads as preview feature only
+            ofVirtual.invoke(null);
+        } catch (final ReflectiveOperationException | LinkageError | RuntimeException e) {
+            newExecutor = null;
+        }
+        NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = newExecutor;
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = name;
+        BUILDER_FACTORY = factory;
+    }
+
+    private VirtualThreads() {}
+
+    /**
+     * Indicates the support of virtual threads by the runtime.
+     * @return {@code true} if virtual threads are supported
+     */
+    public static boolean available() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Returns an {@code ExecutorService} starting a new virtual thread for each task. Without virtual threads the
+     * fallback is a cached thread pool of daemon threads.
+     * @return a new ExecutorService
+     */
+    public static ExecutorService newExecutorService() {
+        if (available()) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return Executors.newCachedThreadPool(platformThreadFactory("platform"));
+    }
+
+    /**
+     * Returns a {@code ThreadFactory} creating virtual threads named with the given prefix and an increasing number.
+     * Without virtual threads the fallback creates platform daemon threads.
+     * @param name the name prefix of the threads
+     * @return a ThreadFactory
+     * @throws IllegalArgumentException if name is {@code null}
+     */
+    public static ThreadFactory threadFactory(final String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Name must be provided");
+        }
+        if (available()) {
+            try {
+                final Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name + "-", 0L);
+                return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return platformThreadFactory(name);
+    }
+
+    /**
+     * Returns a {@code ThreadFactory} creating platform daemon threads named with the given prefix and an increasing
+     * number.
+     * @param name the name prefix of the threads
+     * @return a ThreadFactory
+     * @throws IllegalArgumentException if name is {@code null}
+     */
+    public static ThreadFactory platformThreadFactory(final String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Name must be provided");
+        }
+        final AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name + "-" + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,48 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor.scientist;
+
+/**
+ * The outcome of the comparison of a <em>control</em> and a <em>candidate</em> execution.
+ * @see Experiment#comparator()
+ * @see Result#comparison()
+ */
+public enum Comparison {
+    /** Both executions returned matching values or threw exceptions of the same class. */
+    MATCH,
+    /** Both executions returned values but the values don't match. */
+    MISMATCH,
+    /** The <em>control</em> execution threw an exception but the <em>candidate</em> execution returned a value
+     * or threw an exception of a different class. */
+    EXCEPTION_MISMATCH,
+    /** Only the <em>candidate</em> execution threw an exception or timed out. */
+    CANDIDATE_ONLY_FAILURE
+}
@@ -0,0 +1,117 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor.scientist;
+
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the {@link Comparison Comparisons} of an {@link Experiment}.
+ * <p>The counters are striped {@link LongAdder LongAdders}, so concurrent executions don't contend on a single
+ * counter. The counters are not read atomically in relation to each other.</p>
+ *
+ * @author sascha.kohlmann
+ */
+public final class ComparisonStatistics {
+
+    private final LongAdder matches = new LongAdder();
+    private final LongAdder mismatches = new LongAdder();
+    private final LongAdder exceptionMismatches = new LongAdder();
+    private final LongAdder candidateOnlyFailures = new LongAdder();
+
+    ComparisonStatistics() {}
+
+    void increment(final Comparison comparison) {
+        counter(comparison).increment();
+    }
+
+    /**
+     * The number of the given comparison.
+     * @param comparison the comparison to count
+     * @return the number of comparisons
+     * @throws NullPointerException if comparison is {@code null}
+     */
+    public long count(final Comparison comparison) {
+        return counter(requireNonNull(comparison, "Comparison must be provided")).sum();
+    }
+
+    /** @return the number of {@link Comparison#MATCH matches} */
+    public long matches() {
+        return this.matches.sum();
+    }
+
+    /** @return the number of {@link Comparison#MISMATCH mismatches} */
+    public long mismatches() {
+        return this.mismatches.sum();
+    }
+
+    /** @return the number of {@link Comparison#EXCEPTION_MISMATCH exception mismatches} */
+    public long exceptionMismatches() {
+        return this.exceptionMismatches.sum();
+    }
+
+    /** @return the number of {@link Comparison#CANDIDATE_ONLY_FAILURE candidate only failures} */
+    public long candidateOnlyFailures() {
+        return this.candidateOnlyFailures.sum();
+    }
+
+    /** @return the number of all comparisons */
+    public long total() {
+        return matches() + mismatches() + exceptionMismatches() + candidateOnlyFailures();
+    }
+
+    /** Resets all counters to zero. */
+    public void reset() {
+        this.matches.reset();
+        this.mismatches.reset();
+        this.exceptionMismatches.reset();
+        this.candidateOnlyFailures.reset();
+    }
+
+    private LongAdder counter(final Comparison comparison) {
+        switch (comparison) {
+            case MATCH:
+                return this.matches;
+            case MISMATCH:
+                return this.mismatches;
+            case EXCEPTION_MISMATCH:
+                return this.exceptionMismatches;
+            default:
+                return this.candidateOnlyFailures;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ComparisonStatistics{" + "matches=" + matches() + ", mismatches=" + mismatches()
+                + ", exceptionMismatches=" + exceptionMismatches() + ", candidateOnlyFailures=" + candidateOnlyFailures() + '}';
+    }
+}
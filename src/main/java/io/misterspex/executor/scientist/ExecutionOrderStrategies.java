@@ -0,0 +1,109 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor.scientist;
+
+import static io.misterspex.executor.scientist.Experiment.ExecutionOrder.CANDIDATE_FIRST;
+import static io.misterspex.executor.scientist.Experiment.ExecutionOrder.CONTROL_FIRST;
+import io.misterspex.executor.scientist.Experiment.ExecutionOrder;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementations of {@link ExecutionOrderStrategy}.
+ *
+ * @author sascha.kohlmann
+ */
+final class ExecutionOrderStrategies {
+
+    static final ExecutionOrderStrategy RANDOM = () -> ThreadLocalRandom.current().nextBoolean() ? CONTROL_FIRST : CANDIDATE_FIRST;
+
+    private ExecutionOrderStrategies() {}
+
+    static final class Alternating implements ExecutionOrderStrategy {
+
+        private final AtomicLong counter = new AtomicLong();
+
+        @Override
+        public ExecutionOrder next() {
+            if ((this.counter.getAndIncrement() & 1) == 0) {
+                return CONTROL_FIRST;
+            }
+            return CANDIDATE_FIRST;
+        }
+    }
+
+    /** SplitMix64 sequence. The state advances with a single atomic add. */
+    static final class Seeded implements ExecutionOrderStrategy {
+
+        private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+        private final AtomicLong state;
+
+        Seeded(final long seed) {
+            this.state = new AtomicLong(seed);
+        }
+
+        @Override
+        public ExecutionOrder next() {
+            if (mix64(this.state.addAndGet(GOLDEN_GAMMA)) < 0) {
+                return CANDIDATE_FIRST;
+            }
+            return CONTROL_FIRST;
+        }
+
+        private static long mix64(final long value) {
+            long z = value;
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+
+    static final class Weighted implements ExecutionOrderStrategy {
+
+        private final double candidateFirstRatio;
+
+        Weighted(final double candidateFirstRatio) {
+            if (!(candidateFirstRatio >= 0.0 && candidateFirstRatio <= 1.0)) {
+                throw new IllegalArgumentException("Ratio must be >= 0.0 and <= 1.0. Is: " + candidateFirstRatio);
+            }
+            this.candidateFirstRatio = candidateFirstRatio;
+        }
+
+        @Override
+        public ExecutionOrder next() {
+            if (ThreadLocalRandom.current().nextDouble() < this.candidateFirstRatio) {
+                return CANDIDATE_FIRST;
+            }
+            return CONTROL_FIRST;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor.scientist;
+
+import io.misterspex.executor.scientist.Experiment.ExecutionOrder;
+
+/**
+ * Decides the {@link ExecutionOrder} of <em>control</em> and <em>candidate</em>.
+ * <p>Use a strategy by overriding {@link Experiment#executionOrder()}:</p>
+ * <pre>
+ * private final ExecutionOrderStrategy order = ExecutionOrderStrategy.alternating();
+ *
+ * &#64;Override
+ * protected ExecutionOrder executionOrder() {
+ *     return order.next();
+ * }
+ * </pre>
+ * <p>All strategies returned by the factory methods are thread safe and lock-free.</p>
+ */
+@FunctionalInterface
+public interface ExecutionOrderStrategy {
+
+    /**
+     * The next execution order.
+     * @return the execution order. Never {@code null}
+     */
+    ExecutionOrder next();
+
+    /** Returns a 50/50 random distribution based on a per thread generator. This is the default behavior of
+     * {@link Experiment#executionOrder()}.
+     * @return an ExecutionOrderStrategy */
+    static ExecutionOrderStrategy random() {
+        return ExecutionOrderStrategies.RANDOM;
+    }
+
+    /** Returns a strategy alternating between {@link ExecutionOrder#CONTROL_FIRST} and {@link ExecutionOrder#CANDIDATE_FIRST}
+     * starting with {@code CONTROL_FIRST}. The alternation is shared between all threads.
+     * @return an ExecutionOrderStrategy */
+    static ExecutionOrderStrategy alternating() {
+        return new ExecutionOrderStrategies.Alternating();
+    }
+
+    /** Returns a 50/50 pseudo random distribution with a reproducible sequence for the given seed.
+     * The sequence is shared between all threads. So the order is only reproducible per thread
+     * if a single thread uses the strategy.
+     * @param seed the seed of the sequence
+     * @return an ExecutionOrderStrategy */
+    static ExecutionOrderStrategy seeded(final long seed) {
+        return new ExecutionOrderStrategies.Seeded(seed);
+    }
+
+    /** Returns a random distribution executing the <em>candidate</em> first with the given ratio.
+     * @param candidateFirstRatio the ratio of {@link ExecutionOrder#CANDIDATE_FIRST} between {@code 0.0} and {@code 1.0}
+     * @return an ExecutionOrderStrategy
+     * @throws IllegalArgumentException if <em>candidateFirstRatio</em> is not between {@code 0.0} and {@code 1.0} */
+    static ExecutionOrderStrategy weighted(final double candidateFirstRatio) {
+        return new ExecutionOrderStrategies.Weighted(candidateFirstRatio);
+    }
+}
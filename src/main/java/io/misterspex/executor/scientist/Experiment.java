@@ -30,17 +30,36 @@
  */
 package io.misterspex.executor.scientist;
 
-import io.misterspex.executor.TimingExecutor;
-import static io.misterspex.executor.scientist.Experiment.ExecutionOrder.CANDIDATE_FIRST;
-import static io.misterspex.executor.scientist.Experiment.ExecutionOrder.CONTROL_FIRST;
+import io.misterspex.executor.LatencyHistogram;
+import io.misterspex.executor.VirtualThreads;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import static java.util.Objects.requireNonNull;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Pure Java SE implementation of <a href='https://github.com/github/scientist/'>Github Scientist</a>.
@@ -48,22 +67,31 @@ import java.util.concurrent.FutureTask;
  * <p>{@code Experiment} executes a <em>control</em> function and a <em>candidate</em> function. Both excutions
  * should return an equal <em>result</em> or throw an equal exception.</p>
  *
- * <p>The implementation delegates all publishing and validation of results to external services.
+ * <p>The implementation delegates all publishing of results to external services.
  * Override {@link #publish(io.misterspex.executor.scientist.Result) publish(Result)} to get <em>results</em>
- * published for your requirements.</p>
+ * published for your requirements. The results are compared with the {@link #comparator()} and counted in the
+ * {@link #comparisons() statistics}.</p>
  * 
  * <p>{@code Experiment} returns the <em>result</em> of the <em>control</em> function to the caller
  * or throws the exception of the <em>control</em> execution. In future version this might be configurable.
  * The execution result of <em>control</em> and <em>candidate</em> together with additional metrics 
  * (execution time, eventual thrown exceptions…) are collected and published.
  * {@link #publish(io.misterspex.executor.scientist.Result) publish} is always called before returning
- * {@link #execute(java.util.concurrent.Callable, java.util.concurrent.Callable) execute(…)}.</p>
+ * {@link #execute(java.util.concurrent.Callable, java.util.concurrent.Callable) execute(…)} in synchronous execution
+ * without a {@link Publisher}. A {@code Publisher} calls {@code publish} on its own threads.</p>
  * 
- * <p>With {@link #enabled()} and {@link #executionOrder()} it is possible to control the execution
- * behavior of the implementation.</p>
+ * <p>{@link #controlLatencies()} and {@link #candidateLatencies()} offer latency percentiles of all executions
+ * without publishing each {@link Result}. Named <em>candidates</em> of
+ * {@link #execute(java.util.concurrent.Callable, java.util.Map) execute(…)} are counted per name in
+ * {@link #candidateLatencies(java.lang.String)} and {@link #comparisons(java.lang.String)}.</p>
+ *
+ * <p>With {@link #enabled()}, {@link #sampler()}, {@link #executionOrder()} and {@link #publishEnabled()} it is
+ * possible to control the execution behavior of the implementation.</p>
  * 
  * <p>The implementation supports synchronous and asynchronous execution of the <em>control</em> and <em>candidate</em>.
- * To enable asynchronous execution deliver a {@link ExecutorService} while create an {@code Experiment} instance.</p>
+ * To enable asynchronous execution deliver a {@link ExecutorService} while create an {@code Experiment} instance.
+ * For non-blocking execution use {@link #executeAsync(java.util.function.Supplier, java.util.function.Supplier) executeAsync(…)}
+ * with functions returning a {@link CompletionStage}.</p>
  * 
  * @param <V> the type of the execution result
  */
@@ -72,6 +100,13 @@ public class Experiment<V> {
     private final String name;
     private final Map<String, Object> context;
     private final ExecutorService executorService;
+    private final Publisher publisher;
+    private final LatencyHistogram controlLatencies = new LatencyHistogram();
+    private final LatencyHistogram candidateLatencies = new LatencyHistogram();
+    private final ComparisonStatistics comparisons = new ComparisonStatistics();
+    private final Map<String, LatencyHistogram> namedCandidateLatencies = new ConcurrentHashMap<>();
+    private final Map<String, ComparisonStatistics> namedComparisons = new ConcurrentHashMap<>();
+    private final AtomicReference<Sampler> sampler = new AtomicReference<>();
     
     /**
      * Creates a default {@code Scientist} instance. The instance executes synchronous and the {@link #name() name} is 
@@ -102,6 +137,21 @@ public class Experiment<V> {
         this.name = requireNonNull(name, "Name must be provided");
         this.context = requireNonNull(context, "Context must be provided");
         this.executorService = null;
+        this.publisher = null;
+    }
+
+    /**
+     * Creates a synchronous executing instance with a context handing over the {@link Result Results} to a {@link Publisher}.
+     * @param name the name of the instance. Must not be {@code null}
+     * @param context the context of the instance. Must not be {@code null}
+     * @param publisher the publisher calling {@link #publish(io.misterspex.executor.scientist.Result) publish(Result)}. Must not be {@code null}.
+     * @throws NullPointerException if and only if <em>name</em> or <em>context</em> or <em>publisher</em> is {@code null}
+     */
+    public Experiment(final String name, final Map<String, Object> context, final Publisher publisher) {
+        this.name = requireNonNull(name, "Name must be provided");
+        this.context = requireNonNull(context, "Context must be provided");
+        this.executorService = null;
+        this.publisher = requireNonNull(publisher, "Publisher must be provided");
     }
 
     /**
@@ -125,6 +175,22 @@ public class Experiment<V> {
         this.name = requireNonNull(name, "Name must be provided");
         this.context = requireNonNull(context, "Context must be provided");
         this.executorService = requireNonNull(executorService, "ExecutorService must be provided");
+        this.publisher = null;
+    }
+
+    /**
+     * Creates an asynchronous executing instance with a context handing over the {@link Result Results} to a {@link Publisher}.
+     * @param name the name of the instance. Must not be {@code null}
+     * @param context the context of the instance. Must not be {@code null}
+     * @param executorService the executor service to execute <em>control</em> and <em>candidate</em> ansychronous. Must not be {@code null}.
+     * @param publisher the publisher calling {@link #publish(io.misterspex.executor.scientist.Result) publish(Result)}. Must not be {@code null}.
+     * @throws NullPointerException if and only if <em>name</em> or <em>context</em> or <em>executorService</em> or <em>publisher</em> is {@code null}
+     */
+    public Experiment(final String name, final Map<String, Object> context, final ExecutorService executorService, final Publisher publisher) {
+        this.name = requireNonNull(name, "Name must be provided");
+        this.context = requireNonNull(context, "Context must be provided");
+        this.executorService = requireNonNull(executorService, "ExecutorService must be provided");
+        this.publisher = requireNonNull(publisher, "Publisher must be provided");
     }
 
     /**
@@ -138,62 +204,193 @@ public class Experiment<V> {
      */
     public final V execute(final Callable<V> control, final Callable<V> candidate) throws Exception {
         if (isAsync()) {
-            return executeAsync(control, candidate);
+            return executeOnExecutorService(control, candidate);
         }
         return executeSync(control, candidate);
     }
     
-    private V executeSync(final Callable<V> control, final Callable<V> candidate) throws Exception {
-        final Observation<V> controlObservation;
-        final Observation<V> candidateObservation;
+    /**
+     * Executes <em>control</em> once and may be several named <em>candidates</em> and returns the result of
+     * <em>control</em>. Execution is performed asynchronous if and only if an {@link ExecutorService} is available.
+     * <p>Asynchronous each <em>candidate</em> is a task of its own and the <em>candidates</em> execute in parallel,
+     * each with the {@link #candidateTimeout() timeout}. Synchronous the <em>candidates</em> execute one after another
+     * in the iteration order of the map. Each <em>candidate</em> is compared with <em>control</em> and all
+     * {@link Observation Observations} are published in a single {@link Result}. With
+     * {@link #publishOnlyMismatches()} the {@code Result} is published if at least one <em>candidate</em> differs.
+     * The latencies and comparisons are counted per name in {@link #candidateLatencies(java.lang.String)} and
+     * {@link #comparisons(java.lang.String)}, not in {@link #candidateLatencies()} and {@link #comparisons()}.</p>
+     * <p>Control the execution behavior with {@link #enabled()} and {@link #executionOrder()}. The execution order
+     * applies to all <em>candidates</em>.</p>
+     * @param control the control to execute
+     * @param candidates the candidates to execute by name. Must not be {@code null}
+     * @return the result of <em>control</em> execution
+     * @throws IllegalArgumentException if <em>candidates</em> is {@code null}
+     * @throws Exception an exception if thrown during execution
+     * @see Result#candidateObservations()
+     */
+    public final V execute(final Callable<V> control, final Map<String, Callable<V>> candidates) throws Exception {
+        if (candidates == null) {
+            throw new IllegalArgumentException("Candidates must be provided");
+        }
+        if (isAsync()) {
+            return executeOnExecutorService(control, candidates);
+        }
+        return executeSync(control, candidates);
+    }
+
+    /**
+     * Executes <em>control</em> and may be <em>candidate</em> without blocking and returns a {@link CompletionStage} completing
+     * with the result of <em>control</em>.
+     * <p>The suppliers are called on the calling thread. The returned stage completes when the stage of <em>control</em>
+     * completes and is independent of the <em>candidate</em> stage. The {@link Result} is
+     * {@link #publish(io.misterspex.executor.scientist.Result) published} after the returned stage completed and the
+     * <em>candidate</em> stage completed. Publishing is performed by the thread completing the last stage.
+     * No thread is blocked while waiting for a stage.</p>
+     * <p>Control the execution behavior with {@link #enabled()} and {@link #executionOrder()}.</p>
+     * @param control supplies the stage of the control execution
+     * @param candidate supplies the stage of the candidate execution
+     * @return the stage of <em>control</em> execution
+     * @throws IllegalArgumentException if <em>control</em> or <em>candidate</em> is {@code null}
+     */
+    public final CompletionStage<V> executeAsync(final Supplier<? extends CompletionStage<V>> control,
+                                                 final Supplier<? extends CompletionStage<V>> candidate) {
+        final CompletableFuture<Observation<V>> controlObservation;
+        final CompletableFuture<Observation<V>> candidateObservation;
 
         if (enabled()) {
             if (executionOrder().isCandidateFirst()) {
-                candidateObservation = executeResult(candidate);
-                controlObservation = executeResult(control);
+                candidateObservation = observe(candidate, candidateTimeout());
+                controlObservation = observe(control, Optional.empty());
             } else {
-                controlObservation = executeResult(control);
-                candidateObservation = executeResult(candidate);
+                controlObservation = observe(control, Optional.empty());
+                candidateObservation = observe(candidate, candidateTimeout());
             }
         } else {
-            controlObservation = executeResult(control);
+            controlObservation = observe(control, Optional.empty());
             candidateObservation = null;
         }
 
-        final Result<V> result = new Result<>(this, controlObservation, candidateObservation, this.context);
-        doPublish(result);
-        if (controlObservation.exception().isPresent()) {
-            throw controlObservation.exception().get();
+        final boolean sampled = candidateObservation != null;
+        final CompletableFuture<V> controlResult = new CompletableFuture<>();
+        final CompletableFuture<Void> controlCompleted = controlObservation.thenAccept(observation -> {
+            recordControl(sampled, observation.durationNanos());
+            if (observation.exception().isPresent()) {
+                controlResult.completeExceptionally(observation.exception().get());
+            } else {
+                controlResult.complete(observation.value());
+            }
+        });
+
+        final boolean publish = publishEnabled();
+        if (sampled) {
+            controlCompleted.runAfterBoth(candidateObservation, () -> {
+                final Observation<V> controlObserved = controlObservation.join();
+                final Observation<V> candidateObserved = candidateObservation.join();
+                final Comparison comparison = candidateObserved(controlObserved, candidateObserved);
+                if (publish && published(comparison)) {
+                    doPublish(new Result<>(this, controlObserved, candidateObserved, comparison, this.context));
+                }
+            });
+        } else if (publish && published(null)) {
+            controlCompleted.thenRun(() -> doPublish(new Result<>(this, controlObservation.join(), null, null, this.context)));
         }
-        return controlObservation.value();
+
+        return controlResult;
+    }
+
+    private V executeSync(final Callable<V> control, final Callable<V> candidate) throws Exception {
+        final Object controlOutcome;
+        final Object candidateOutcome;
+        final long controlNanos;
+        final long candidateNanos;
+
+        final boolean candidateEnabled = enabled();
+        final boolean measured = measureResources();
+        final ResourceUsage controlUsage = measured ? new ResourceUsage() : null;
+        final ResourceUsage candidateUsage = measured && candidateEnabled ? new ResourceUsage() : null;
+        if (candidateEnabled) {
+            if (executionOrder().isCandidateFirst()) {
+                final long start = nanoTime();
+                candidateOutcome = outcomeOf(candidate, candidateUsage);
+                final long split = nanoTime();
+                controlOutcome = outcomeOf(control, controlUsage);
+                controlNanos = nanoTime() - split;
+                candidateNanos = split - start;
+            } else {
+                final long start = nanoTime();
+                controlOutcome = outcomeOf(control, controlUsage);
+                final long split = nanoTime();
+                candidateOutcome = outcomeOf(candidate, candidateUsage);
+                candidateNanos = nanoTime() - split;
+                controlNanos = split - start;
+            }
+        } else {
+            final long start = nanoTime();
+            controlOutcome = outcomeOf(control, controlUsage);
+            controlNanos = nanoTime() - start;
+            candidateOutcome = null;
+            candidateNanos = 0;
+        }
+        recordControl(candidateEnabled, controlNanos);
+        final Comparison comparison;
+        if (candidateEnabled) {
+            recordCandidate(candidateNanos);
+            comparison = compare(failureOf(controlOutcome), controlOutcome, failureOf(candidateOutcome), candidateOutcome,
+                                 this.comparisons);
+        } else {
+            comparison = null;
+        }
+
+        if (publishEnabled() && published(comparison)) {
+            final Observation<V> controlObservation = observationOf(controlOutcome, controlNanos, controlUsage);
+            final Observation<V> candidateObservation = candidateEnabled ? observationOf(candidateOutcome, candidateNanos, candidateUsage) : null;
+            doPublish(new Result<>(this, controlObservation, candidateObservation, comparison, this.context));
+        }
+        return valueOf(controlOutcome);
     }
 
-    private V executeAsync(final Callable<V> control, final Callable<V> candidate) throws Exception {
-        final FutureTask<Observation<V>> controlObservationFuture = new FutureTask<>(() -> executeResult(control));
-        final FutureTask<Observation<V>> candidateObservationFuture;
+    private V executeOnExecutorService(final Callable<V> control, final Callable<V> candidate) throws Exception {
+        final boolean measured = measureResources();
+        final ObservationTask<V> controlTask = new ObservationTask<>(() -> executeResult(control, measured));
+        final ObservationTask<V> candidateTask;
 
         if (enabled()) {
-            candidateObservationFuture = new FutureTask<>(() -> executeResult(candidate));
+            candidateTask = new ObservationTask<>(() -> executeResult(candidate, measured));
+            final Optional<Duration> timeout = candidateTimeout();
+            if (timeout.isPresent()) {
+                scheduleTimeout(candidateTask, timeout.get());
+            }
             if (executionOrder().isCandidateFirst()) {
-                this.executorService.submit(candidateObservationFuture);
-                this.executorService.submit(controlObservationFuture);
+                this.executorService.execute(candidateTask);
+                this.executorService.execute(controlTask);
             } else {
-                this.executorService.submit(controlObservationFuture);
-                this.executorService.submit(candidateObservationFuture);
+                this.executorService.execute(controlTask);
+                this.executorService.execute(candidateTask);
             }
         } else {
-            this.executorService.submit(controlObservationFuture);
-            candidateObservationFuture = null;
+            this.executorService.execute(controlTask);
+            candidateTask = null;
         }
         
         final Observation<V> controlObservation;
         try {
-            controlObservation = controlObservationFuture.get();
+            controlObservation = controlTask.get();
         } catch (final InterruptedException | ExecutionException e) {
             throw new RuntimeException(e);
         }
+        recordControl(candidateTask != null, controlObservation.durationNanos());
         
-        final Future<Void> publishedResult = this.executorService.submit(() -> publishAsync(controlObservation, candidateObservationFuture));
+        final boolean publish = publishEnabled();
+        if (candidateTask != null) {
+            candidateTask.observation().thenAccept(candidateObservation -> {
+                final Comparison comparison = candidateObserved(controlObservation, candidateObservation);
+                if (publish && published(comparison)) {
+                    publishAsync(controlObservation, candidateObservation, comparison);
+                }
+            });
+        } else if (publish && published(null)) {
+            publishAsync(controlObservation, null, null);
+        }
 
         if (controlObservation.exception().isPresent()) {
             throw controlObservation.exception().get();
@@ -201,58 +398,354 @@ public class Experiment<V> {
         
         return controlObservation.value();
     }
-    
-    private Void publishAsync(final Observation<V> controlObservation, final Future<Observation<V>> candidateObservationFuture) {
-        final Observation<V> candidateObservation;
-        if (candidateObservationFuture != null) {
-            try {
-                candidateObservation = candidateObservationFuture.get();
-            } catch (final InterruptedException | ExecutionException e) {
-                throw new RuntimeException(e);
+
+    private V executeSync(final Callable<V> control, final Map<String, Callable<V>> candidates) throws Exception {
+        final boolean candidatesEnabled = !candidates.isEmpty() && enabled();
+        final boolean measured = measureResources();
+        final boolean candidatesFirst = candidatesEnabled && executionOrder().isCandidateFirst();
+        final Map<String, Observation<V>> candidateObservations = new LinkedHashMap<>();
+
+        if (candidatesFirst) {
+            candidates.forEach((name, candidate) -> candidateObservations.put(name, executeResult(candidate, measured)));
+        }
+        final Observation<V> controlObservation = executeResult(control, measured);
+        if (candidatesEnabled && !candidatesFirst) {
+            candidates.forEach((name, candidate) -> candidateObservations.put(name, executeResult(candidate, measured)));
+        }
+        recordControl(candidatesEnabled, controlObservation.durationNanos());
+
+        final Result<V> result = candidatesObserved(controlObservation, candidateObservations, publishEnabled());
+        if (result != null) {
+            doPublish(result);
+        }
+        if (controlObservation.exception().isPresent()) {
+            throw controlObservation.exception().get();
+        }
+        return controlObservation.value();
+    }
+
+    private V executeOnExecutorService(final Callable<V> control, final Map<String, Callable<V>> candidates) throws Exception {
+        final boolean measured = measureResources();
+        final ObservationTask<V> controlTask = new ObservationTask<>(() -> executeResult(control, measured));
+        final Map<String, ObservationTask<V>> candidateTasks = new LinkedHashMap<>();
+
+        if (!candidates.isEmpty() && enabled()) {
+            candidates.forEach((name, candidate) -> candidateTasks.put(name, new ObservationTask<>(() -> executeResult(candidate, measured))));
+            final Optional<Duration> timeout = candidateTimeout();
+            if (timeout.isPresent()) {
+                candidateTasks.values().forEach(task -> scheduleTimeout(task, timeout.get()));
+            }
+            if (executionOrder().isCandidateFirst()) {
+                candidateTasks.values().forEach(this.executorService::execute);
+                this.executorService.execute(controlTask);
+            } else {
+                this.executorService.execute(controlTask);
+                candidateTasks.values().forEach(this.executorService::execute);
             }
         } else {
-            candidateObservation = null;
+            this.executorService.execute(controlTask);
         }
 
-        final Result<V> result = new Result<>(this, controlObservation, candidateObservation, this.context);
-        doPublish(result);
-        return null;
+        final Observation<V> controlObservation;
+        try {
+            controlObservation = controlTask.get();
+        } catch (final InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        }
+        recordControl(!candidateTasks.isEmpty(), controlObservation.durationNanos());
+
+        final boolean publish = publishEnabled();
+        final CompletableFuture<?>[] observations = candidateTasks.values().stream()
+                                                                  .map(ObservationTask::observation)
+                                                                  .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(observations).thenRun(() -> {
+            final Map<String, Observation<V>> candidateObservations = new LinkedHashMap<>();
+            candidateTasks.forEach((name, task) -> candidateObservations.put(name, task.observation().join()));
+            final Result<V> result = candidatesObserved(controlObservation, candidateObservations, publish);
+            if (result != null) {
+                publishAsync(result);
+            }
+        });
+
+        if (controlObservation.exception().isPresent()) {
+            throw controlObservation.exception().get();
+        }
+        return controlObservation.value();
+    }
+
+    /**
+     * Compares and counts all <em>candidates</em>.
+     * @return the {@code Result} to publish or {@code null} if not to publish
+     */
+    private Result<V> candidatesObserved(final Observation<V> controlObservation,
+                                         final Map<String, Observation<V>> candidateObservations, final boolean publish) {
+        final Map<String, Comparison> comparisons = new LinkedHashMap<>();
+        candidateObservations.forEach((name, candidateObservation)
+                -> comparisons.put(name, candidateObserved(controlObservation, candidateObservation,
+                                                           latenciesOf(name), comparisonsOf(name))));
+        if (!publish || !publishedAny(comparisons)) {
+            return null;
+        }
+        return Result.ofCandidates(this, controlObservation, candidateObservations, comparisons, this.context);
+    }
+
+    /** Creates the histogram of an executed <em>candidate</em>. Reads first, {@code computeIfAbsent} may lock. */
+    private LatencyHistogram latenciesOf(final String candidate) {
+        final LatencyHistogram latencies = this.namedCandidateLatencies.get(candidate);
+        return latencies != null ? latencies : this.namedCandidateLatencies.computeIfAbsent(candidate, name -> new LatencyHistogram());
+    }
+
+    /** Creates the statistics of an executed <em>candidate</em>. Reads first, {@code computeIfAbsent} may lock. */
+    private ComparisonStatistics comparisonsOf(final String candidate) {
+        final ComparisonStatistics statistics = this.namedComparisons.get(candidate);
+        return statistics != null ? statistics : this.namedComparisons.computeIfAbsent(candidate, name -> new ComparisonStatistics());
+    }
+
+    /**
+     * Publishes without blocking the calling thread. Without a {@link Publisher} the {@code Result} is published by
+     * a task of the {@link ExecutorService} submitted after <em>candidate</em> completed.
+     */
+    private void publishAsync(final Observation<V> controlObservation, final Observation<V> candidateObservation, final Comparison comparison) {
+        publishAsync(new Result<>(this, controlObservation, candidateObservation, comparison, this.context));
+    }
+
+    private void publishAsync(final Result<V> result) {
+        if (this.publisher != null) {
+            this.publisher.offer(result);
+            return;
+        }
+        try {
+            this.executorService.execute(() -> publishResult(result));
+        } catch (final RejectedExecutionException e) {
+            // Ignore like described in #publish(Result);
+        }
     }
 
     /**
      * Defines the order of execution if and only if <em>control</em> and <em>candidate</em> must be executed.
-     * <p>The default implementation gurantees a 50/50 execution order distribution. Override this method for
-     * your own distribution.</p>
+     * <p>The default implementation gurantees a 50/50 execution order distribution based on a per thread
+     * random generator. Override this method for your own distribution. {@link ExecutionOrderStrategy} offers
+     * additional distributions.</p>
      * @return the execution order. Never {@code null}
      */
     protected ExecutionOrder executionOrder() {
-        final double order = Math.random();
-        if (order < 0.5) {
-            return CONTROL_FIRST;
-        }
-        return CANDIDATE_FIRST;
+        return ExecutionOrderStrategies.RANDOM.next();
     }
     
-    private Observation<V> executeResult(final Callable<V> executable) throws Exception {
-        Exception exception = null;
-        V result = null;
-        TimingExecutor executor = TimingExecutor.of();
+    /**
+     * Returns a future completing normally with the {@link Observation} of the supplied stage.
+     */
+    private CompletableFuture<Observation<V>> observe(final Supplier<? extends CompletionStage<V>> executable, final Optional<Duration> timeout) {
+        if (executable == null) {
+            throw new IllegalArgumentException("Executable must be provided");
+        }
+        final long start = nanoTime();
+        final CompletionStage<V> stage;
+        try {
+            stage = requireNonNull(executable.get(), "Stage must be provided");
+        } catch (final Exception e) {
+            return CompletableFuture.completedFuture(observationOf(new Failure(exceptionOf(e)), nanoTime() - start));
+        }
+        final AtomicBoolean timedOut = new AtomicBoolean();
+        final CompletableFuture<Observation<V>> observation = stage.handle((value, throwable) -> {
+            final long nanos = nanoTime() - start;
+            if (timedOut.get()) {
+                return timedOutObservation(timeout.get());
+            }
+            if (throwable != null) {
+                return observationOf(new Failure(exceptionOf(throwable)), nanos);
+            }
+            return observationOf(value, nanos);
+        }).toCompletableFuture();
+
+        if (timeout.isPresent() && !observation.isDone()) {
+            final Duration deadline = timeout.get();
+            final ScheduledFuture<?> timeoutTask = Deadlines.schedule(() -> {
+                // Cancel before completing, so dependent actions see the cancelled stage
+                if (!observation.isDone() && timedOut.compareAndSet(false, true)) {
+                    stage.toCompletableFuture().cancel(true);
+                    observation.complete(timedOutObservation(deadline));
+                }
+            }, deadline);
+            observation.whenComplete((o, t) -> timeoutTask.cancel(false));
+        }
+        return observation;
+    }
 
+    /**
+     * Cancels and interrupts the task if not done after the timeout. The observation of the task completes with
+     * a {@link Observation#timedOut() timed out} {@code Observation}.
+     */
+    private void scheduleTimeout(final ObservationTask<V> task, final Duration timeout) {
+        final ScheduledFuture<?> timeoutTask = Deadlines.schedule(() -> task.timeout(timedOutObservation(timeout)), timeout);
+        task.observation().whenComplete((o, t) -> timeoutTask.cancel(false));
+    }
+
+    private Observation<V> timedOutObservation(final Duration timeout) {
+        return new Observation<>(new TimeoutException("Candidate timed out after " + timeout), null, timeout.toNanos(), true);
+    }
+
+    private Observation<V> executeResult(final Callable<V> executable, final boolean measured) {
+        final ResourceUsage usage = measured ? new ResourceUsage() : null;
+        final long start = nanoTime();
+        final Object outcome = outcomeOf(executable, usage);
+        return observationOf(outcome, nanoTime() - start, usage);
+    }
+
+    /**
+     * Calls the executable and measures the resource usage on the current thread if a {@link ResourceUsage} is given.
+     */
+    private Object outcomeOf(final Callable<V> executable, final ResourceUsage usage) {
+        if (usage == null) {
+            return outcomeOf(executable);
+        }
+        usage.begin();
         try {
-            result = executor.execute(executable);
+            return outcomeOf(executable);
+        } finally {
+            usage.end();
+        }
+    }
+
+    /**
+     * Calls the executable and returns either the value or a {@link Failure} holding the thrown exception.
+     * Allocates nothing on successful execution.
+     */
+    private Object outcomeOf(final Callable<V> executable) {
+        if (executable == null) {
+            throw new IllegalArgumentException("Executable must be provided");
+        }
+        try {
+            return executable.call();
         } catch (final io.misterspex.executor.ExecutionException e) {
-            exception = causeExceptionOf(e);
+            return new Failure(causeExceptionOf(e));
+        } catch (final Exception e) {
+            return new Failure(e);
         }
+    }
 
-        return new Observation(exception, result, executor.duration());
+    @SuppressWarnings("unchecked")
+    private Observation<V> observationOf(final Object outcome, final long nanos) {
+        if (outcome instanceof Failure) {
+            return new Observation<>(((Failure) outcome).exception, null, nanos);
+        }
+        return new Observation<>(null, (V) outcome, nanos);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Observation<V> observationOf(final Object outcome, final long nanos, final ResourceUsage usage) {
+        if (usage == null) {
+            return observationOf(outcome, nanos);
+        }
+        if (outcome instanceof Failure) {
+            return new Observation<>(((Failure) outcome).exception, null, nanos, false, usage.cpuNanos(), usage.allocatedBytes());
+        }
+        return new Observation<>(null, (V) outcome, nanos, false, usage.cpuNanos(), usage.allocatedBytes());
+    }
+
+    private Exception failureOf(final Object outcome) {
+        if (outcome instanceof Failure) {
+            return ((Failure) outcome).exception;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueOf(final Object outcome) throws Exception {
+        if (outcome instanceof Failure) {
+            throw ((Failure) outcome).exception;
+        }
+        return (V) outcome;
     }
 
     /**
      * Decider to execute <em>control</em> and <em>candidate</em>.
-     * <p>Default is {@code true}.</p>
+     * <p>Default asks the {@link #sampler() Sampler}, which is {@code true} by default.</p>
      * @return {@code true} to execute <em>control</em> and <em>candidate</em>. {@code false} for execute <em>control</em> only.
      */
     protected boolean enabled() {
+        return resolvedSampler().sample();
+    }
+
+    /**
+     * The {@link Sampler} deciding the execution of the <em>candidate</em> in the default implementation of
+     * {@link #enabled()}. The {@code Sampler} {@linkplain Sampler#record(boolean, long) receives} the duration of each
+     * <em>control</em> execution.
+     * <p>Called once on the first execution. The returned {@code Sampler} is kept and used for all executions of
+     * this instance, so a stateful {@code Sampler} may be created here:</p>
+     * <pre>
+     * protected Sampler sampler() {
+     *     return Sampler.rateLimited(10);
+     * }
+     * </pre>
+     * <p>Default is {@link Sampler#always()}.</p>
+     * @return the sampler. Never {@code null}
+     */
+    protected Sampler sampler() {
+        return Sampler.always();
+    }
+
+    /**
+     * Returns the {@link #sampler() Sampler} of this instance. If several threads resolve the {@code Sampler}
+     * concurrently, all use the first resolved instance.
+     */
+    private Sampler resolvedSampler() {
+        final Sampler resolved = this.sampler.get();
+        if (resolved != null) {
+            return resolved;
+        }
+        final Sampler created = requireNonNull(sampler(), "Sampler must be provided");
+        if (this.sampler.compareAndSet(null, created)) {
+            return created;
+        }
+        return this.sampler.get();
+    }
+
+    private void recordControl(final boolean sampled, final long controlNanos) {
+        this.controlLatencies.record(controlNanos);
+        try {
+            resolvedSampler().record(sampled, controlNanos);
+        } catch (final RuntimeException e) {
+            // Ignore like failing publishing
+        }
+    }
+
+    /**
+     * The maximum duration of an asynchronous <em>candidate</em> execution. The duration starts with the submission of
+     * the <em>candidate</em>.
+     * <p>If the <em>candidate</em> is not done after the duration, the execution is cancelled and interrupted and the
+     * {@link Result} is published with a {@link Observation#timedOut() timed out} <em>candidate</em> {@link Observation}.
+     * Applies to asynchronous execution only.</p>
+     * <p>Default is no timeout.</p>
+     * @return the maximum duration of the <em>candidate</em> execution or an empty {@code Optional} for no timeout. Never {@code null}
+     */
+    protected Optional<Duration> candidateTimeout() {
+        return Optional.empty();
+    }
+
+    /**
+     * Decider to measure the CPU time and the allocated bytes of <em>control</em> and <em>candidate</em> with the
+     * {@link java.lang.management.ThreadMXBean ThreadMXBean}. The values are available with
+     * {@link Observation#cpuTime()} and {@link Observation#allocatedBytes()}.
+     * <p>The measurement has an overhead of its own and adds to the {@link Observation#duration() duration}.
+     * Executions with {@code executeAsync} are not measured, because a {@code CompletionStage} may complete on
+     * any thread.</p>
+     * <p>Default is {@code false}.</p>
+     * @return {@code true} to measure the resource usage
+     */
+    protected boolean measureResources() {
+        return false;
+    }
+
+    /**
+     * Decider to build and {@link #publish(io.misterspex.executor.scientist.Result) publish} the {@link Result} of an execution.
+     * <p>If {@code false}, no {@link Observation} and no {@code Result} is created and the synchronous execution
+     * of <em>control</em> and <em>candidate</em> allocates no additional objects. Return {@code false} if
+     * {@code publish} is not overridden.</p>
+     * <p>Default is {@code true}.</p>
+     * @return {@code true} to publish the {@code Result}. {@code false} to skip publishing.
+     */
+    protected boolean publishEnabled() {
         return true;
     }
 
@@ -260,6 +753,150 @@ public class Experiment<V> {
         return this.executorService != null;
     }
     
+    private void recordCandidate(final long candidateNanos) {
+        this.candidateLatencies.record(candidateNanos);
+    }
+
+    private Comparison candidateObserved(final Observation<V> controlObservation, final Observation<V> candidateObservation) {
+        return candidateObserved(controlObservation, candidateObservation, this.candidateLatencies, this.comparisons);
+    }
+
+    private Comparison candidateObserved(final Observation<V> controlObservation, final Observation<V> candidateObservation,
+                                         final LatencyHistogram latencies, final ComparisonStatistics statistics) {
+        latencies.record(candidateObservation.durationNanos());
+        return compare(controlObservation.failure(), controlObservation.value(), candidateObservation.failure(),
+                       candidateObservation.value(), statistics);
+    }
+
+    /**
+     * Compares the outcomes of <em>control</em> and <em>candidate</em> and counts the {@link Comparison} in the
+     * statistics. A value is only compared if the corresponding exception is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    private Comparison compare(final Exception controlException, final Object controlValue,
+                               final Exception candidateException, final Object candidateValue,
+                               final ComparisonStatistics statistics) {
+        final Comparison comparison;
+        if (controlException != null) {
+            if (candidateException != null && controlException.getClass() == candidateException.getClass()) {
+                comparison = Comparison.MATCH;
+            } else {
+                comparison = Comparison.EXCEPTION_MISMATCH;
+            }
+        } else if (candidateException != null) {
+            comparison = Comparison.CANDIDATE_ONLY_FAILURE;
+        } else {
+            comparison = matches((V) controlValue, (V) candidateValue) ? Comparison.MATCH : Comparison.MISMATCH;
+        }
+        statistics.increment(comparison);
+        return comparison;
+    }
+
+    private boolean matches(final V controlValue, final V candidateValue) {
+        try {
+            return comparator().test(controlValue, candidateValue);
+        } catch (final RuntimeException e) {
+            return false;
+        }
+    }
+
+    private boolean published(final Comparison comparison) {
+        if (publishOnlyMismatches()) {
+            return comparison != null && comparison != Comparison.MATCH;
+        }
+        return true;
+    }
+
+    private boolean publishedAny(final Map<String, Comparison> comparisons) {
+        if (publishOnlyMismatches()) {
+            return comparisons.values().stream().anyMatch(comparison -> comparison != Comparison.MATCH);
+        }
+        return true;
+    }
+
+    /**
+     * Compares the values of successful <em>control</em> and <em>candidate</em> executions.
+     * <p>If both executions throw an exception, the executions match if the exceptions are of the same class.
+     * A comparator throwing an exception is a {@link Comparison#MISMATCH}.</p>
+     * <p>Default is {@link Objects#equals(java.lang.Object, java.lang.Object)}.</p>
+     * @return the comparator. Never {@code null}
+     */
+    protected BiPredicate<V, V> comparator() {
+        return Objects::equals;
+    }
+
+    /**
+     * Decider to publish only {@link Result Results} with a <em>candidate</em> {@link Observation} differing from
+     * the <em>control</em> {@code Observation}.
+     * <p>Default is {@code false}.</p>
+     * @return {@code true} to publish mismatches only. {@code false} to publish all {@code Results}.
+     */
+    protected boolean publishOnlyMismatches() {
+        return false;
+    }
+
+    /**
+     * The number of matches and mismatches of <em>control</em> and <em>candidate</em> executions of this instance.
+     * Named <em>candidates</em> are not counted.
+     * @return the statistics of the comparisons
+     * @see #comparisons(java.lang.String)
+     */
+    public final ComparisonStatistics comparisons() {
+        return this.comparisons;
+    }
+
+    /**
+     * The number of matches and mismatches of <em>control</em> and the named <em>candidate</em> executions of
+     * {@link #execute(java.util.concurrent.Callable, java.util.Map) execute(…)}.
+     * The statistics are created with the first execution of the <em>candidate</em>. Before, a new empty
+     * instance is returned, which is not updated by later executions.
+     * @param candidate the name of the <em>candidate</em>
+     * @return the statistics of the comparisons
+     * @throws IllegalArgumentException if <em>candidate</em> is {@code null}
+     */
+    public final ComparisonStatistics comparisons(final String candidate) {
+        if (candidate == null) {
+            throw new IllegalArgumentException("Candidate must be provided");
+        }
+        final ComparisonStatistics statistics = this.namedComparisons.get(candidate);
+        return statistics != null ? statistics : new ComparisonStatistics();
+    }
+
+    /**
+     * The histogram of all <em>control</em> execution durations of this instance.
+     * @return the <em>control</em> latencies
+     */
+    public final LatencyHistogram controlLatencies() {
+        return this.controlLatencies;
+    }
+
+    /**
+     * The histogram of all <em>candidate</em> execution durations of this instance. Timed out executions are
+     * recorded with the timeout duration. Named <em>candidates</em> are not recorded.
+     * @return the <em>candidate</em> latencies
+     * @see #candidateLatencies(java.lang.String)
+     */
+    public final LatencyHistogram candidateLatencies() {
+        return this.candidateLatencies;
+    }
+
+    /**
+     * The histogram of the named <em>candidate</em> execution durations of
+     * {@link #execute(java.util.concurrent.Callable, java.util.Map) execute(…)}. Timed out executions are
+     * recorded with the timeout duration. The histogram is created with the first execution of the
+     * <em>candidate</em>. Before, a new empty instance is returned, which is not updated by later executions.
+     * @param candidate the name of the <em>candidate</em>
+     * @return the <em>candidate</em> latencies
+     * @throws IllegalArgumentException if <em>candidate</em> is {@code null}
+     */
+    public final LatencyHistogram candidateLatencies(final String candidate) {
+        if (candidate == null) {
+            throw new IllegalArgumentException("Candidate must be provided");
+        }
+        final LatencyHistogram latencies = this.namedCandidateLatencies.get(candidate);
+        return latencies != null ? latencies : new LatencyHistogram();
+    }
+
     /**
      * Return the name of the instance.
      * @return the name
@@ -278,6 +915,14 @@ public class Experiment<V> {
     protected void publish(final Result result) {}
 
     private void doPublish(final Result result) {
+        if (this.publisher != null) {
+            this.publisher.offer(result);
+        } else {
+            publishResult(result);
+        }
+    }
+
+    final void publishResult(final Result result) {
         try {
             publish(result);
         } catch (final Exception e) {
@@ -305,6 +950,89 @@ public class Experiment<V> {
         public boolean isCandidateFirst() {return false;}
     }
 
+    /** Completes the {@link #observation() observation} future when the task is done. */
+    private static final class ObservationTask<V> extends FutureTask<Observation<V>> {
+        private final CompletableFuture<Observation<V>> observation = new CompletableFuture<>();
+        private volatile Observation<V> timedOut;
+
+        private ObservationTask(final Callable<Observation<V>> callable) {
+            super(callable);
+        }
+
+        @Override
+        protected void done() {
+            final Observation<V> timedOutObservation = this.timedOut;
+            if (timedOutObservation != null && isCancelled()) {
+                this.observation.complete(timedOutObservation);
+                return;
+            }
+            try {
+                this.observation.complete(get());
+            } catch (final ExecutionException e) {
+                this.observation.completeExceptionally(e.getCause());
+            } catch (final CancellationException | InterruptedException e) {
+                this.observation.completeExceptionally(e);
+            }
+        }
+
+        /** Cancels before completing, so dependent actions see the cancelled task. {@link #done()} completes. */
+        private void timeout(final Observation<V> timedOut) {
+            this.timedOut = timedOut;
+            cancel(true);
+        }
+
+        private CompletableFuture<Observation<V>> observation() {
+            return this.observation;
+        }
+    }
+
+    /**
+     * Holds the scheduler of candidate timeouts. Created on first use. The scheduler thread only signals the timeout.
+     * Cancelling and completing run on the expiry threads, because the completion runs the dependent comparison
+     * and publishing of the {@code Experiment}.
+     */
+    private static final class Deadlines {
+        private static final ScheduledExecutorService SCHEDULER = newScheduler();
+        private static final ExecutorService EXPIRY = Executors.newCachedThreadPool(VirtualThreads.threadFactory("experiment-expiry"));
+
+        private static ScheduledFuture<?> schedule(final Runnable expiry, final Duration timeout) {
+            return SCHEDULER.schedule(() -> EXPIRY.execute(expiry), timeout.toNanos(), NANOSECONDS);
+        }
+
+        private static ScheduledExecutorService newScheduler() {
+            final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                final Thread thread = new Thread(runnable, "experiment-deadline");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+
+    /** Marks the exceptional outcome of an execution. */
+    private static final class Failure {
+        private final Exception exception;
+
+        private Failure(final Exception exception) {
+            this.exception = exception;
+        }
+    }
+
+    private Exception exceptionOf(final Throwable throwable) {
+        Throwable t = throwable;
+        while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        if (t instanceof io.misterspex.executor.ExecutionException) {
+            return causeExceptionOf((io.misterspex.executor.ExecutionException) t);
+        }
+        if (t instanceof Exception) {
+            return (Exception) t;
+        }
+        return new io.misterspex.executor.ExecutionException(t);
+    }
+
     private Exception causeExceptionOf(final io.misterspex.executor.ExecutionException ex) {
         final Throwable t = ex.getCause();
         if (t instanceof Exception) {
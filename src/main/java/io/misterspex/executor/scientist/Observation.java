@@ -32,21 +32,36 @@ package io.misterspex.executor.scientist;
 
 import java.time.Duration;
 import java.util.Optional;
-import static java.util.Objects.requireNonNull;
+import java.util.OptionalLong;
 
 /**
  * The result of an observation wether it is a <em>control</em> or <em>candidate</em> execution.
  */
 public final class Observation<V> {
  
-    private final Optional<Exception> exception;
+    private final Exception exception;
     private final V value;
-    private final Duration duration;
+    private final long nanos;
+    private final boolean timedOut;
+    private final long cpuNanos;
+    private final long allocatedBytes;
 
-    Observation(final Exception exception, final V value, final Duration duration) {
-        this.duration = requireNonNull(duration, "Duration must be provided");
-        this.exception = Optional.ofNullable(exception);
+    Observation(final Exception exception, final V value, final long nanos) {
+        this(exception, value, nanos, false);
+    }
+
+    Observation(final Exception exception, final V value, final long nanos, final boolean timedOut) {
+        this(exception, value, nanos, timedOut, ResourceUsage.UNMEASURED, ResourceUsage.UNMEASURED);
+    }
+
+    Observation(final Exception exception, final V value, final long nanos, final boolean timedOut,
+                final long cpuNanos, final long allocatedBytes) {
+        this.exception = exception;
         this.value = value;
+        this.nanos = nanos;
+        this.timedOut = timedOut;
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
     }
 
     /**
@@ -54,7 +69,11 @@ public final class Observation<V> {
      * @return an optional exception
      */
     public Optional<Exception> exception() {
-        return exception;
+        return Optional.ofNullable(this.exception);
+    }
+
+    Exception failure() {
+        return this.exception;
     }
 
     /**
@@ -70,11 +89,54 @@ public final class Observation<V> {
      * @return the execution duration
      */
     public Duration duration() {
-        return this.duration;
+        return Duration.ofNanos(this.nanos);
+    }
+
+    /**
+     * The duration of the execution in nanoseconds.
+     * @return the execution duration in nanoseconds
+     */
+    public long durationNanos() {
+        return this.nanos;
+    }
+    
+    /**
+     * Indicates a cancelled execution because of a timeout. The {@link #exception() exception} is a
+     * {@link java.util.concurrent.TimeoutException TimeoutException} and the {@link #duration() duration} is the timeout.
+     * @return {@code true} if and only if the execution timed out
+     */
+    public boolean timedOut() {
+        return this.timedOut;
     }
     
+    /**
+     * The CPU time of the executing thread during the execution. Unlike the {@link #duration() duration} it doesn't
+     * contain time waiting for I/O or locks.
+     * @return the CPU time or an empty {@code Optional} if not {@linkplain Experiment#measureResources() measured}
+     *         or not supported by the runtime
+     */
+    public Optional<Duration> cpuTime() {
+        if (this.cpuNanos < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofNanos(this.cpuNanos));
+    }
+
+    /**
+     * The bytes allocated on the heap by the executing thread during the execution.
+     * @return the allocated bytes or an empty {@code OptionalLong} if not {@linkplain Experiment#measureResources() measured}
+     *         or not supported by the runtime
+     */
+    public OptionalLong allocatedBytes() {
+        if (this.allocatedBytes < 0) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(this.allocatedBytes);
+    }
+
     @Override
     public String toString() {
-        return "Observation{" + "exception=" + exception + ", value=" + value + ", duration=" + duration + '}';
+        return "Observation{" + "exception=" + exception() + ", value=" + value + ", duration=" + duration() + ", timedOut=" + timedOut
+                + ", cpuTime=" + cpuTime() + ", allocatedBytes=" + allocatedBytes() + '}';
     }
 }
@@ -0,0 +1,295 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor.scientist;
+
+import io.misterspex.executor.VirtualThreads;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes {@link Result Results} of {@link Experiment Experiments} on own consumer threads.
+ *
+ * <p>An {@code Experiment} created with a {@code Publisher} hands over each {@code Result} to a bounded lock-free
+ * ring buffer instead of calling {@link Experiment#publish(io.misterspex.executor.scientist.Result) publish(Result)}
+ * itself. The consumer threads of the {@code Publisher} take the {@code Results} from the buffer and call
+ * {@code publish(Result)} of the {@linkplain Result#experiment() experiment}.
+ * A slow {@code publish} implementation therefore never adds latency to the <em>control</em> execution and the
+ * memory stays bounded by the capacity of the buffer.</p>
+ *
+ * <p>The {@link OverflowPolicy} defines the behavior if the buffer is full.</p>
+ *
+ * <p>A single {@code Publisher} may be shared by several {@code Experiments}. Call {@link #close()} to publish
+ * the remaining {@code Results} and stop the consumer threads.</p>
+ */
+public final class Publisher implements AutoCloseable {
+
+    private static final int SPINS = 16;
+    private static final long MAX_IDLE_NANOS = 1_000_000L;
+
+    private final RingBuffer<Result<?>> buffer;
+    private final OverflowPolicy policy;
+    private final Thread[] consumers;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger sleepers = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Creates a {@code Publisher} with a single consumer thread.
+     * @param name the name prefix of the consumer threads. Must not be {@code null}
+     * @param capacity the capacity of the buffer. Rounded up to the next power of two, at least 2
+     * @param policy the behavior if the buffer is full. Must not be {@code null}
+     * @throws NullPointerException if <em>name</em> or <em>policy</em> is {@code null}
+     * @throws IllegalArgumentException if <em>capacity</em> is lower than 1
+     */
+    public Publisher(final String name, final int capacity, final OverflowPolicy policy) {
+        this(name, capacity, policy, 1);
+    }
+
+    /**
+     * Creates a {@code Publisher}.
+     * @param name the name prefix of the consumer threads. Must not be {@code null}
+     * @param capacity the capacity of the buffer. Rounded up to the next power of two, at least 2
+     * @param policy the behavior if the buffer is full. Must not be {@code null}
+     * @param consumers the number of consumer threads
+     * @throws NullPointerException if <em>name</em> or <em>policy</em> is {@code null}
+     * @throws IllegalArgumentException if <em>capacity</em> or <em>consumers</em> is lower than 1
+     */
+    public Publisher(final String name, final int capacity, final OverflowPolicy policy, final int consumers) {
+        this(capacity, policy, consumers, VirtualThreads.platformThreadFactory(requireNonNull(name, "Name must be provided")));
+    }
+
+    /**
+     * Creates a {@code Publisher} with consumer threads of the given {@code ThreadFactory}, e.g. virtual threads of
+     * {@link io.misterspex.executor.VirtualThreads#threadFactory(java.lang.String)}.
+     * @param capacity the capacity of the buffer. Rounded up to the next power of two, at least 2
+     * @param policy the behavior if the buffer is full. Must not be {@code null}
+     * @param consumers the number of consumer threads
+     * @param threadFactory the factory of the consumer threads. Must not be {@code null}
+     * @throws NullPointerException if <em>policy</em> or <em>threadFactory</em> is {@code null}
+     * @throws IllegalArgumentException if <em>capacity</em> or <em>consumers</em> is lower than 1
+     */
+    public Publisher(final int capacity, final OverflowPolicy policy, final int consumers, final ThreadFactory threadFactory) {
+        requireNonNull(threadFactory, "ThreadFactory must be provided");
+        this.policy = requireNonNull(policy, "Policy must be provided");
+        if (consumers <= 0) {
+            throw new IllegalArgumentException("Consumers must be > 0. Is: " + consumers);
+        }
+        this.buffer = new RingBuffer<>(capacity);
+        this.consumers = new Thread[consumers];
+        for (int i = 0; i < consumers; i++) {
+            this.consumers[i] = requireNonNull(threadFactory.newThread(this::consume), "Thread must be provided");
+        }
+        for (final Thread consumer : this.consumers) {
+            consumer.start();
+        }
+    }
+
+    /**
+     * Hands over the result to the buffer. Never throws an exception.
+     * @param result the result to publish
+     */
+    void offer(final Result<?> result) {
+        if (this.closed) {
+            this.dropped.increment();
+            return;
+        }
+        switch (this.policy) {
+            case BLOCK:
+                offerBlocking(result);
+                return;
+            case SAMPLE:
+                if (!sampled()) {
+                    this.dropped.increment();
+                    return;
+                }
+                // fall through
+            default:
+                if (this.buffer.offer(result)) {
+                    signal();
+                } else {
+                    this.dropped.increment();
+                }
+        }
+    }
+
+    private void offerBlocking(final Result<?> result) {
+        int idle = 0;
+        while (!this.buffer.offer(result)) {
+            if (this.closed || Thread.currentThread().isInterrupted()) {
+                this.dropped.increment();
+                return;
+            }
+            idle(++idle);
+        }
+        signal();
+    }
+
+    /** Unparks the consumers if at least one consumer waits for a result. */
+    private void signal() {
+        if (this.sleepers.get() > 0) {
+            for (final Thread consumer : this.consumers) {
+                LockSupport.unpark(consumer);
+            }
+        }
+    }
+
+    /**
+     * Accepts all results up to half of the capacity. Above half of the capacity the acceptance probability
+     * decreases linearly with the remaining free capacity.
+     */
+    private boolean sampled() {
+        final int half = this.buffer.capacity() >>> 1;
+        final int size = this.buffer.size();
+        if (size < half || half == 0) {
+            return true;
+        }
+        return ThreadLocalRandom.current().nextInt(half) >= size - half;
+    }
+
+    private void consume() {
+        int idle = 0;
+        for (;;) {
+            final Result<?> result = this.buffer.poll();
+            if (result != null) {
+                idle = 0;
+                publish(result);
+            } else if (this.closed) {
+                return;
+            } else if (++idle <= SPINS) {
+                idle(idle);
+            } else {
+                await();
+            }
+        }
+    }
+
+    /**
+     * Publishes on the consumer thread. An {@code Error} of {@code publish(Result)} is reported to the
+     * {@link Thread.UncaughtExceptionHandler} and does not stop the consumer. A stopped consumer would block
+     * all producers of the {@link OverflowPolicy#BLOCK BLOCK} policy as soon as the buffer is full.
+     */
+    private void publish(final Result<?> result) {
+        try {
+            result.experiment().publishResult(result);
+        } catch (final Throwable t) {
+            final Thread consumer = Thread.currentThread();
+            consumer.getUncaughtExceptionHandler().uncaughtException(consumer, t);
+        }
+        this.published.increment();
+    }
+
+    /**
+     * Parks the idle consumer without a deadline until {@link #signal()} or {@link #close()} unparks it.
+     * The consumer registers as sleeper before it checks the buffer a last time. A concurrent producer therefore
+     * either sees the sleeper or the consumer sees the result.
+     */
+    private void await() {
+        this.sleepers.incrementAndGet();
+        try {
+            if (this.buffer.size() == 0 && !this.closed) {
+                LockSupport.park(this);
+            }
+        } finally {
+            this.sleepers.decrementAndGet();
+        }
+    }
+
+    private static void idle(final int idle) {
+        if (idle <= SPINS / 2) {
+            ThreadHints.onSpinWait();
+        } else if (idle <= SPINS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(Math.min(MAX_IDLE_NANOS, 1_000L << Math.min(idle - SPINS, 10)));
+        }
+    }
+
+    /**
+     * The number of published results.
+     * @return the number of published results
+     */
+    public long published() {
+        return this.published.sum();
+    }
+
+    /**
+     * The number of results dropped because of a full buffer or sampling.
+     * @return the number of dropped results
+     */
+    public long dropped() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * The number of results waiting for publishing.
+     * @return the number of waiting results
+     */
+    public int pending() {
+        return this.buffer.size();
+    }
+
+    /**
+     * Publishes the remaining results and stops the consumer threads. Results handed over after closing are dropped.
+     * Waits until all consumer threads are stopped.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        for (final Thread consumer : this.consumers) {
+            LockSupport.unpark(consumer);
+        }
+        for (final Thread consumer : this.consumers) {
+            try {
+                consumer.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Behavior of a {@link Publisher} if the buffer is full.
+     */
+    public static enum OverflowPolicy {
+        /** Drops the result if the buffer is full. */
+        DROP,
+        /** Drops a growing share of the results if the buffer is more than half full. Drops all results if full. */
+        SAMPLE,
+        /** Waits until the buffer has a free slot. Adds latency to the handing over thread. */
+        BLOCK
+    }
+}
@@ -0,0 +1,146 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor.scientist;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the CPU time and the allocated bytes of an execution on the current thread with the
+ * {@link ThreadMXBean}.
+ * <p>Allocated bytes are only available with the {@code com.sun.management.ThreadMXBean} extension of HotSpot
+ * based runtimes. Values not supported by the runtime, disabled in the {@code ThreadMXBean} or not available for
+ * the current thread, e.g. a virtual thread, are {@link #UNMEASURED}.</p>
+ *
+ * @author sascha.kohlmann
+ */
+final class ResourceUsage {
+
+    static final long UNMEASURED = -1L;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME = cpuTimeSupported();
+    private static final boolean ALLOCATIONS = allocationsSupported();
+
+    private long cpuStart;
+    private long bytesStart;
+    private long cpuNanos = UNMEASURED;
+    private long allocatedBytes = UNMEASURED;
+
+    /**
+     * Starts the measurement on the current thread.
+     */
+    void begin() {
+        this.cpuStart = cpuTime();
+        this.bytesStart = allocatedBytesOfCurrentThread();
+    }
+
+    /**
+     * Stops the measurement on the current thread. Must be called on the thread calling {@link #begin()}.
+     */
+    void end() {
+        this.cpuNanos = difference(this.cpuStart, cpuTime());
+        this.allocatedBytes = difference(this.bytesStart, allocatedBytesOfCurrentThread());
+    }
+
+    long cpuNanos() {
+        return this.cpuNanos;
+    }
+
+    long allocatedBytes() {
+        return this.allocatedBytes;
+    }
+
+    private static long difference(final long start, final long end) {
+        if (start < 0 || end < 0) {
+            return UNMEASURED;
+        }
+        return Math.max(0, end - start);
+    }
+
+    private static long cpuTime() {
+        if (!CPU_TIME) {
+            return UNMEASURED;
+        }
+        try {
+            return THREADS.getCurrentThreadCpuTime();
+        } catch (final UnsupportedOperationException e) {
+            return UNMEASURED;
+        }
+    }
+
+    private static long allocatedBytesOfCurrentThread() {
+        if (!ALLOCATIONS) {
+            return UNMEASURED;
+        }
+        try {
+            return Allocations.currentThread();
+        } catch (final UnsupportedOperationException e) {
+            return UNMEASURED;
+        }
+    }
+
+    private static boolean cpuTimeSupported() {
+        try {
+            return THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+        } catch (final UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private static boolean allocationsSupported() {
+        try {
+            return Allocations.supported();
+        } catch (final LinkageError | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Isolates the {@code com.sun.management} dependency. On runtimes without the extension only the loading of
+     * this class fails.
+     */
+    private static final class Allocations {
+
+        private static final com.sun.management.ThreadMXBean THREADS_EXTENSION =
+                THREADS instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) THREADS : null;
+
+        static boolean supported() {
+            return THREADS_EXTENSION != null
+                    && THREADS_EXTENSION.isThreadAllocatedMemorySupported()
+                    && THREADS_EXTENSION.isThreadAllocatedMemoryEnabled();
+        }
+
+        static long currentThread() {
+            return THREADS_EXTENSION.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
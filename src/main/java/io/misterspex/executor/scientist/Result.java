@@ -30,26 +30,63 @@
  */
 package io.misterspex.executor.scientist;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import static java.util.Objects.requireNonNull;
 
 /**
- * The result of {@link Experiment#execute(java.util.concurrent.Callable, java.util.concurrent.Callable)}.
+ * The result of {@link Experiment#execute(java.util.concurrent.Callable, java.util.concurrent.Callable)} and
+ * {@link Experiment#execute(java.util.concurrent.Callable, java.util.Map)}.
  * @see Experiment#publish(io.misterspex.executor.scientist.Result) 
  */
 public final class Result<V> {
+
+    /** The name of the <em>candidate</em> of {@link Experiment#execute(java.util.concurrent.Callable, java.util.concurrent.Callable)}. */
+    public static final String CANDIDATE = "candidate";
     
     private final Experiment<V> scientist;
     private final Observation<V> control;
-    private final Optional<Observation<V>> candidate;
+    private final Observation<V> candidate;
+    private final Comparison comparison;
+    private final Map<String, Observation<V>> candidates;
+    private final Map<String, Comparison> comparisons;
     private final Map<String, Object> context;
     
     Result(final Experiment<V> scientist, final Observation<V> control, final Observation<V> candidate, final Map<String, Object> context) {
+        this(scientist, control, candidate, null, context);
+    }
+
+    Result(final Experiment<V> scientist, final Observation<V> control, final Observation<V> candidate,
+           final Comparison comparison, final Map<String, Object> context) {
+        this(scientist, control, candidate, comparison, null, null, context);
+    }
+
+    private Result(final Experiment<V> scientist, final Observation<V> control, final Observation<V> candidate,
+                   final Comparison comparison, final Map<String, Observation<V>> candidates,
+                   final Map<String, Comparison> comparisons, final Map<String, Object> context) {
         this.context = requireNonNull(context, "Context must be provided");
         this.scientist = requireNonNull(scientist, "Scientist must be provided");
         this.control = requireNonNull(control, "Control Observation must be provided");
-        this.candidate = Optional.ofNullable(candidate);
+        this.candidate = candidate;
+        this.comparison = comparison;
+        this.candidates = candidates;
+        this.comparisons = comparisons;
+    }
+
+    /**
+     * Result of several named <em>candidates</em>. The first <em>candidate</em> is the
+     * {@link #candidateObservation() candidate observation} of the {@code Result}.
+     * @param candidates the observations by name in execution order
+     * @param comparisons the comparisons by name in execution order
+     */
+    static <V> Result<V> ofCandidates(final Experiment<V> scientist, final Observation<V> control,
+                                      final Map<String, Observation<V>> candidates,
+                                      final Map<String, Comparison> comparisons, final Map<String, Object> context) {
+        final Observation<V> first = candidates.isEmpty() ? null : candidates.values().iterator().next();
+        final Comparison firstComparison = comparisons.isEmpty() ? null : comparisons.values().iterator().next();
+        return new Result<>(scientist, control, first, firstComparison, Collections.unmodifiableMap(candidates),
+                            Collections.unmodifiableMap(comparisons), context);
     }
     
     /** The executing instance.
@@ -66,11 +103,42 @@ public final class Result<V> {
         return this.control;
     }
 
-    /** The observation of the <em>candidate</em> execution.
+    /** The observation of the <em>candidate</em> execution. The first <em>candidate</em> for several
+     * {@link #candidateObservations() named candidates}.
      * @return the <em>candidate</em> execution observation
      */
     public Optional<Observation<V>> candidateObservation() {
-        return this.candidate;
+        return Optional.ofNullable(this.candidate);
+    }
+
+    /** The comparison of the <em>control</em> and the <em>candidate</em> execution. The comparison of the first
+     * <em>candidate</em> for several {@link #comparisons() named candidates}.
+     * @return the comparison. Empty if the <em>candidate</em> was not executed
+     */
+    public Optional<Comparison> comparison() {
+        return Optional.ofNullable(this.comparison);
+    }
+
+    /** The observations of all <em>candidate</em> executions by name in execution order. The single <em>candidate</em>
+     * of {@link Experiment#execute(java.util.concurrent.Callable, java.util.concurrent.Callable)} is named
+     * {@value #CANDIDATE}.
+     * @return the <em>candidate</em> execution observations. Empty if no <em>candidate</em> was executed
+     */
+    public Map<String, Observation<V>> candidateObservations() {
+        if (this.candidates != null) {
+            return this.candidates;
+        }
+        return this.candidate == null ? Collections.emptyMap() : Collections.singletonMap(CANDIDATE, this.candidate);
+    }
+
+    /** The comparisons of the <em>control</em> and all <em>candidate</em> executions by name in execution order.
+     * @return the comparisons. Empty if no <em>candidate</em> was executed
+     */
+    public Map<String, Comparison> comparisons() {
+        if (this.comparisons != null) {
+            return this.comparisons;
+        }
+        return this.comparison == null ? Collections.emptyMap() : Collections.singletonMap(CANDIDATE, this.comparison);
     }
 
     public Map<String, Object> context() {
@@ -79,6 +147,6 @@ public final class Result<V> {
 
     @Override
     public String toString() {
-        return "Result{" + "scientist=" + scientist + ", control=" + control + ", candidate=" + candidate + ", context=" + context + '}';
+        return "Result{" + "scientist=" + scientist + ", control=" + control + ", candidates=" + candidateObservations() + ", comparisons=" + comparisons() + ", context=" + context + '}';
     }
 }
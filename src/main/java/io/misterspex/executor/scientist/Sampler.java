@@ -0,0 +1,96 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor.scientist;
+
+/**
+ * Decides whether to execute the <em>candidate</em> of an {@link Experiment}.
+ * <p>Use a sampler by overriding {@link Experiment#sampler()}. The default {@link Experiment#enabled()} asks the
+ * sampler for each execution and {@code Experiment} reports the duration of each <em>control</em> execution with
+ * {@link #record(boolean, long)}.</p>
+ * <p>All samplers returned by the factory methods are thread safe and lock-free. Rate limited and adaptive
+ * samplers keep state. An {@code Experiment} calls {@link Experiment#sampler()} once and keeps the returned
+ * instance.</p>
+ */
+@FunctionalInterface
+public interface Sampler {
+
+    /**
+     * Decides whether to execute the <em>candidate</em>.
+     * @return {@code true} to execute the <em>candidate</em>
+     */
+    boolean sample();
+
+    /**
+     * Records the duration of a <em>control</em> execution.
+     * <p>The default implementation does nothing.</p>
+     * @param sampled {@code true} if the <em>candidate</em> was executed together with the <em>control</em>
+     * @param controlNanos the duration of the <em>control</em> execution in nanoseconds
+     */
+    default void record(final boolean sampled, final long controlNanos) {}
+
+    /** Returns a sampler executing each <em>candidate</em>.
+     * @return a Sampler */
+    static Sampler always() {
+        return Samplers.ALWAYS;
+    }
+
+    /** Returns a sampler executing the given percentage of <em>candidates</em> chosen randomly.
+     * @param percent the percentage between {@code 0.0} and {@code 100.0}
+     * @return a Sampler
+     * @throws IllegalArgumentException if <em>percent</em> is not between {@code 0.0} and {@code 100.0} */
+    static Sampler percentage(final double percent) {
+        return new Samplers.Percentage(percent);
+    }
+
+    /** Returns a sampler executing at most the given number of <em>candidates</em> per second.
+     * The sampler permits a burst of up to {@code permitsPerSecond} executions.
+     * @param permitsPerSecond the maximum executions per second
+     * @return a Sampler
+     * @throws IllegalArgumentException if <em>permitsPerSecond</em> is lower than 1 */
+    static Sampler rateLimited(final long permitsPerSecond) {
+        return new Samplers.RateLimited(permitsPerSecond);
+    }
+
+    /** Returns a sampler executing up to the given percentage of <em>candidates</em>. The sampler compares the average
+     * <em>control</em> duration of executions with and without <em>candidate</em> once per second. If the
+     * <em>candidate</em> raises the <em>control</em> duration by more than the tolerance, the sampler halves the
+     * percentage. Otherwise the percentage grows by a tenth of the given percentage. The percentage never falls below
+     * a hundredth of the given percentage ({@code percent / 100.0}), so the sampler keeps measuring the impact of the
+     * <em>candidate</em>.
+     * @param percent the maximum percentage between {@code 0.0} and {@code 100.0}
+     * @param tolerance the tolerated relative increase of the <em>control</em> duration, e.g. {@code 0.1} for 10%
+     * @return a Sampler
+     * @throws IllegalArgumentException if <em>percent</em> is not between {@code 0.0} and {@code 100.0} or
+     *                                  <em>tolerance</em> is negative */
+    static Sampler adaptive(final double percent, final double tolerance) {
+        return new Samplers.Adaptive(percent, tolerance, Samplers.Adaptive.WINDOW_NANOS);
+    }
+}
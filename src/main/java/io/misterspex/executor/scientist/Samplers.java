@@ -0,0 +1,182 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor.scientist;
+
+import static java.lang.System.nanoTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementations of {@link Sampler}.
+ *
+ * @author sascha.kohlmann
+ */
+final class Samplers {
+
+    static final Sampler ALWAYS = () -> true;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private Samplers() {}
+
+    static double assertPercent(final double percent) throws IllegalArgumentException {
+        if (!(percent >= 0.0 && percent <= 100.0)) {
+            throw new IllegalArgumentException("Percent must be >= 0.0 and <= 100.0. Is: " + percent);
+        }
+        return percent;
+    }
+
+    static boolean sample(final double percent) {
+        return ThreadLocalRandom.current().nextDouble() * 100.0 < percent;
+    }
+
+    static final class Percentage implements Sampler {
+
+        private final double percent;
+
+        Percentage(final double percent) {
+            this.percent = assertPercent(percent);
+        }
+
+        @Override
+        public boolean sample() {
+            return Samplers.sample(this.percent);
+        }
+    }
+
+    /**
+     * Token bucket implemented as generic cell rate algorithm. The theoretical arrival time is the only state.
+     */
+    static final class RateLimited implements Sampler {
+
+        private final long interval;
+        private final long burst;
+        private final AtomicLong theoreticalArrival;
+
+        RateLimited(final long permitsPerSecond) {
+            if (permitsPerSecond <= 0) {
+                throw new IllegalArgumentException("Permits per second must be > 0. Is: " + permitsPerSecond);
+            }
+            this.interval = Math.max(1, NANOS_PER_SECOND / permitsPerSecond);
+            this.burst = this.interval * (permitsPerSecond - 1);
+            this.theoreticalArrival = new AtomicLong(nanoTime() - NANOS_PER_SECOND);
+        }
+
+        @Override
+        public boolean sample() {
+            final long now = nanoTime();
+            for (;;) {
+                final long arrival = this.theoreticalArrival.get();
+                if (arrival - now > this.burst) {
+                    return false;
+                }
+                if (this.theoreticalArrival.compareAndSet(arrival, Math.max(arrival, now) + this.interval)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares the average <em>control</em> durations of a window with and without <em>candidate</em> execution.
+     * The durations are summed up in striped counters. The first thread recording after the end of a window
+     * adjusts the percentage.
+     */
+    static final class Adaptive implements Sampler {
+
+        static final long WINDOW_NANOS = NANOS_PER_SECOND;
+
+        private final double maxPercent;
+        private final double minPercent;
+        private final double tolerance;
+        private final long window;
+        private final LongAdder sampledNanos = new LongAdder();
+        private final LongAdder sampledCount = new LongAdder();
+        private final LongAdder unsampledNanos = new LongAdder();
+        private final LongAdder unsampledCount = new LongAdder();
+        private final AtomicLong windowEnd;
+        private volatile double percent;
+
+        Adaptive(final double percent, final double tolerance, final long window) {
+            this.maxPercent = assertPercent(percent);
+            if (!(tolerance >= 0.0)) {
+                throw new IllegalArgumentException("Tolerance must be >= 0.0. Is: " + tolerance);
+            }
+            this.minPercent = percent / 100.0;
+            this.tolerance = tolerance;
+            this.window = window;
+            this.windowEnd = new AtomicLong(nanoTime() + window);
+            this.percent = percent;
+        }
+
+        @Override
+        public boolean sample() {
+            return Samplers.sample(this.percent);
+        }
+
+        @Override
+        public void record(final boolean sampled, final long controlNanos) {
+            if (sampled) {
+                this.sampledNanos.add(controlNanos);
+                this.sampledCount.increment();
+            } else {
+                this.unsampledNanos.add(controlNanos);
+                this.unsampledCount.increment();
+            }
+            final long now = nanoTime();
+            final long end = this.windowEnd.get();
+            if (now - end >= 0 && this.windowEnd.compareAndSet(end, now + this.window)) {
+                adjust();
+            }
+        }
+
+        private void adjust() {
+            final long withCount = this.sampledCount.sumThenReset();
+            final long withNanos = this.sampledNanos.sumThenReset();
+            final long withoutCount = this.unsampledCount.sumThenReset();
+            final long withoutNanos = this.unsampledNanos.sumThenReset();
+
+            if (withCount > 0 && withoutCount > 0 && withoutNanos > 0) {
+                final double ratio = ((double) withNanos / withCount) / ((double) withoutNanos / withoutCount);
+                if (ratio > 1.0 + this.tolerance) {
+                    this.percent = Math.max(this.minPercent, this.percent / 2.0);
+                    return;
+                }
+            }
+            this.percent = Math.min(this.maxPercent, this.percent + this.maxPercent / 10.0);
+        }
+
+        double percent() {
+            return this.percent;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor.scientist;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Bounded lock-free multi producer multi consumer queue.
+ * <p>Each slot carries a sequence number. A producer claims a slot by advancing the <em>tail</em> with a CAS
+ * if the sequence of the slot signals a free slot. A consumer claims a slot the same way with the <em>head</em>.
+ * The capacity is rounded up to the next power of two and is at least 2. With a single slot the sequence
+ * of a full and a free slot would be equal.</p>
+ * <p>Java 11 variant of the multi-release JAR. Plain arrays accessed by {@link VarHandle VarHandles} with
+ * acquire and release semantics replace the atomic arrays. This avoids the indirection of the atomic array
+ * and the full fences of volatile reads on weakly ordered platforms.</p>
+ *
+ * @param <E> the type of the elements
+ * @author sascha.kohlmann
+ */
+final class RingBuffer<E> {
+
+    private static final VarHandle ELEMENTS = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle TAIL;
+    private static final VarHandle HEAD;
+
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TAIL = lookup.findVarHandle(RingBuffer.class, "tail", long.class);
+            HEAD = lookup.findVarHandle(RingBuffer.class, "head", long.class);
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int mask;
+    private final Object[] elements;
+    private final long[] sequences;
+    private volatile long tail;
+    private volatile long head;
+
+    RingBuffer(final int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be > 0 and <= 2^30. Is: " + capacity);
+        }
+        final int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new Object[size];
+        this.sequences = new long[size];
+        for (int i = 0; i < size; i++) {
+            this.sequences[i] = i;
+        }
+        VarHandle.releaseFence();
+    }
+
+    /**
+     * Inserts the element if a slot is free.
+     * @param element the element to insert. Must not be {@code null}
+     * @return {@code true} if inserted, {@code false} if the buffer is full
+     */
+    boolean offer(final E element) {
+        long position = (long) TAIL.getAcquire(this);
+        for (;;) {
+            final int index = (int) position & this.mask;
+            final long difference = (long) SEQUENCES.getAcquire(this.sequences, index) - position;
+            if (difference == 0) {
+                if (TAIL.compareAndSet(this, position, position + 1)) {
+                    ELEMENTS.setRelease(this.elements, index, element);
+                    SEQUENCES.setRelease(this.sequences, index, position + 1);
+                    return true;
+                }
+                Thread.onSpinWait();
+                position = (long) TAIL.getAcquire(this);
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = (long) TAIL.getAcquire(this);
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element.
+     * @return the oldest element or {@code null} if the buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long position = (long) HEAD.getAcquire(this);
+        for (;;) {
+            final int index = (int) position & this.mask;
+            final long difference = (long) SEQUENCES.getAcquire(this.sequences, index) - (position + 1);
+            if (difference == 0) {
+                if (HEAD.compareAndSet(this, position, position + 1)) {
+                    final E element = (E) ELEMENTS.getAcquire(this.elements, index);
+                    ELEMENTS.setRelease(this.elements, index, null);
+                    SEQUENCES.setRelease(this.sequences, index, position + this.mask + 1);
+                    return element;
+                }
+                Thread.onSpinWait();
+                position = (long) HEAD.getAcquire(this);
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = (long) HEAD.getAcquire(this);
+            }
+        }
+    }
+
+    /**
+     * An estimation of the number of elements. Exact if no concurrent modification takes place.
+     * Reads with volatile semantics, the {@link Publisher} relies on them to not miss a waiting consumer.
+     * @return the number of elements
+     */
+    int size() {
+        final long size = (long) TAIL.getVolatile(this) - (long) HEAD.getVolatile(this);
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, capacity());
+    }
+
+    int capacity() {
+        return this.mask + 1;
+    }
+}
@@ -0,0 +1,217 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static com.google.common.truth.Truth.assertThat;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class AsyncTrialExecutorTest {
+
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    public void setUp() {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.scheduler.shutdownNow();
+    }
+
+    @Test
+    public void retry_until_success() throws Exception {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final AsyncTrialExecutor executor = AsyncTrialExecutor.of(3, Backoff.fixed(Duration.ofMillis(5)), this.scheduler);
+
+        // When
+        final Integer result = executor.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IllegalStateException();
+            }
+            return calls.get();
+        }).toCompletableFuture().get(1, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(result).isEqualTo(3);
+    }
+
+    @Test
+    public void retry_on_wrapped_cause() throws Exception {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final TimingExecutor timing = TimingExecutor.of();
+        final AsyncTrialExecutor executor = AsyncTrialExecutor.of(3, Backoff.none(), TrialExecutor.retryOn(IOException.class), this.scheduler);
+
+        // When
+        final Integer result = executor.execute(() -> timing.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IOException("transient");
+            }
+            return calls.get();
+        })).toCompletableFuture().get(1, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(result).isEqualTo(3);
+    }
+
+    @Test
+    public void cancelled_trial_not_retried() throws Exception {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final AsyncTrialExecutor executor = AsyncTrialExecutor.of(3, Backoff.none(), this.scheduler);
+
+        // When
+        final CompletableFuture<Object> result = executor.executeAsync(() -> {
+            calls.incrementAndGet();
+            final CompletableFuture<Object> cancelled = new CompletableFuture<>();
+            cancelled.cancel(false);
+            return cancelled;
+        }).toCompletableFuture();
+
+        // Then
+        assertThrows(CancellationException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertThat(result.isCancelled()).isTrue();
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void trials_exhausted() throws Exception {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final AsyncTrialExecutor executor = AsyncTrialExecutor.of(2, Backoff.none(), this.scheduler);
+
+        // When
+        final CompletableFuture<Object> result = executor.executeAsync(() -> {
+            calls.incrementAndGet();
+            final CompletableFuture<Object> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException("fail"));
+            return failed;
+        }).toCompletableFuture();
+
+        // Then
+        final java.util.concurrent.ExecutionException ex = assertThrows(java.util.concurrent.ExecutionException.class,
+                () -> result.get(1, TimeUnit.SECONDS));
+        assertThat(ex.getCause()).isInstanceOf(ExecutionException.class);
+        assertThat(ex.getCause().getMessage()).isEqualTo("fail");
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void non_retryable_exception() throws Exception {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final AsyncTrialExecutor executor = AsyncTrialExecutor.of(5, Backoff.none(), TrialExecutor.retryOn(UncheckedIOException.class), this.scheduler);
+
+        // When
+        final CompletableFuture<Object> result = executor.execute(() -> {
+            calls.incrementAndGet();
+            throw new IOException("io");
+        }).toCompletableFuture();
+
+        // Then
+        final java.util.concurrent.ExecutionException ex = assertThrows(java.util.concurrent.ExecutionException.class,
+                () -> result.get(1, TimeUnit.SECONDS));
+        assertThat(ex.getCause().getCause()).isInstanceOf(IOException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void waiting_trials_hold_no_thread() throws Exception {
+        // Given
+        final int operations = 1_000;
+        final AsyncTrialExecutor executor = AsyncTrialExecutor.of(1, Backoff.fixed(Duration.ofMillis(100)), this.scheduler);
+        final List<CompletableFuture<Integer>> results = new ArrayList<>();
+        final long start = System.nanoTime();
+
+        // When
+        for (int i = 0; i < operations; i++) {
+            final AtomicInteger calls = new AtomicInteger();
+            results.add(executor.execute(() -> {
+                if (calls.incrementAndGet() == 1) {
+                    throw new IllegalStateException();
+                }
+                return calls.get();
+            }).toCompletableFuture());
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(System.nanoTime() - start).isLessThan(Duration.ofSeconds(5).toNanos());
+        for (final CompletableFuture<Integer> result : results) {
+            assertThat(result.get()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void cancel_stops_trials() throws Exception {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final AsyncTrialExecutor executor = AsyncTrialExecutor.of(5, Backoff.fixed(Duration.ofMillis(50)), this.scheduler);
+
+        // When
+        final CompletableFuture<Object> result = executor.execute(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException();
+        }).toCompletableFuture();
+        Thread.sleep(20);
+        result.cancel(false);
+        Thread.sleep(100);
+
+        // Then
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void null_scheduler() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> AsyncTrialExecutor.of(1, Backoff.none(), null));
+        assertThat(ex.getMessage()).isEqualTo("Scheduler must be provided");
+    }
+}
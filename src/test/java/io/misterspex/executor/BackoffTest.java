@@ -0,0 +1,110 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static com.google.common.truth.Truth.assertThat;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class BackoffTest {
+
+    @Test
+    public void none() {
+        assertThat(Backoff.none().delayNanos(1, 0)).isEqualTo(0);
+        assertThat(Backoff.none().delayNanos(10, 0)).isEqualTo(0);
+    }
+
+    @Test
+    public void fixed() {
+        // Given
+        final Backoff backoff = Backoff.fixed(Duration.ofMillis(5));
+
+        // Then
+        assertThat(backoff.delayNanos(1, 0)).isEqualTo(5_000_000);
+        assertThat(backoff.delayNanos(7, 5_000_000)).isEqualTo(5_000_000);
+    }
+
+    @Test
+    public void exponential_capped() {
+        // Given
+        final Backoff backoff = Backoff.exponential(Duration.ofNanos(10), Duration.ofNanos(100));
+
+        // Then
+        assertThat(backoff.delayNanos(1, 0)).isEqualTo(10);
+        assertThat(backoff.delayNanos(2, 10)).isEqualTo(20);
+        assertThat(backoff.delayNanos(3, 20)).isEqualTo(40);
+        assertThat(backoff.delayNanos(4, 40)).isEqualTo(80);
+        assertThat(backoff.delayNanos(5, 80)).isEqualTo(100);
+        assertThat(backoff.delayNanos(Integer.MAX_VALUE, 100)).isEqualTo(100);
+    }
+
+    @Test
+    public void decorrelated_jitter_within_bounds() {
+        // Given
+        final Backoff backoff = Backoff.decorrelatedJitter(Duration.ofNanos(10), Duration.ofNanos(1000));
+
+        // When
+        long previous = 0;
+        for (int retry = 1; retry < 1000; retry++) {
+            final long delay = backoff.delayNanos(retry, previous);
+
+            // Then
+            assertThat(delay).isAtLeast(10L);
+            assertThat(delay).isAtMost(Math.min(1000L, Math.max(10L, previous) * 3));
+            previous = delay;
+        }
+    }
+
+    @Test
+    public void max_lower_base() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> Backoff.exponential(Duration.ofSeconds(2), Duration.ofSeconds(1)));
+        assertThat(ex.getMessage()).startsWith("Max must be >= ");
+    }
+
+    @Test
+    public void negative_delay() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> Backoff.fixed(Duration.ofMillis(-1)));
+        assertThat(ex.getMessage()).startsWith("Delay must be >= 0");
+    }
+
+    @Test
+    public void null_base() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> Backoff.decorrelatedJitter(null, Duration.ofSeconds(1)));
+        assertThat(ex.getMessage()).isEqualTo("Base must be provided");
+    }
+}
@@ -0,0 +1,246 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static com.google.common.truth.Truth.assertThat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class BatchingExecutorTest {
+
+    private ScheduledExecutorService scheduler;
+    private List<List<Integer>> calls;
+
+    @BeforeEach
+    public void setUp() {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor();
+        this.calls = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.scheduler.shutdownNow();
+    }
+
+    @Test
+    public void max_batch_size_flushes() throws Exception {
+        // Given
+        final BatchingExecutor<Integer, String> executor = BatchingExecutor.of(this::bulk, 3, Duration.ofMinutes(1), this.scheduler);
+
+        // When
+        final List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(executor.submit(i).toCompletableFuture());
+        }
+
+        // Then
+        assertThat(results.get(0).get(5, TimeUnit.SECONDS)).isEqualTo("0");
+        assertThat(results.get(2).get(5, TimeUnit.SECONDS)).isEqualTo("2");
+        assertThat(this.calls).hasSize(1);
+        assertThat(this.calls.get(0)).containsExactly(0, 1, 2).inOrder();
+        assertThat(executor.batches()).isEqualTo(1);
+    }
+
+    @Test
+    public void linger_flushes_partial_batch() {
+        // Given
+        final BatchingExecutor<Integer, String> executor = BatchingExecutor.of(this::bulk, 100, Duration.ofMillis(10), this.scheduler);
+
+        // When
+        final String result = executor.execute(7);
+
+        // Then
+        assertThat(result).isEqualTo("7");
+        assertThat(this.calls).hasSize(1);
+    }
+
+    @Test
+    public void duplicate_keys_once_per_batch() throws Exception {
+        // Given
+        final BatchingExecutor<Integer, String> executor = BatchingExecutor.of(this::bulk, 2, Duration.ofMinutes(1), this.scheduler);
+
+        // When
+        final CompletableFuture<String> first = executor.submit(1).toCompletableFuture();
+        final CompletableFuture<String> second = executor.submit(1).toCompletableFuture();
+
+        // Then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("1");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("1");
+        assertThat(this.calls.get(0)).containsExactly(1);
+    }
+
+    @Test
+    public void missing_result() {
+        // Given
+        final BatchingExecutor<Integer, String> executor = BatchingExecutor.of(keys -> new HashMap<>(), 1, Duration.ZERO, this.scheduler);
+
+        // When
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> executor.execute(1));
+
+        // Then
+        assertThat(ex.getCause()).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    public void failed_bulk_fails_all_callers() throws Exception {
+        // Given
+        final BatchingExecutor<Integer, String> executor = BatchingExecutor.of(keys -> {throw new IllegalStateException("bulk");}, 2,
+                                                                              Duration.ofMinutes(1), this.scheduler);
+
+        // When
+        final CompletableFuture<String> first = executor.submit(1).toCompletableFuture();
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> executor.execute(2));
+
+        // Then
+        assertThat(ex.getMessage()).isEqualTo("bulk");
+        assertThat(first.isCompletedExceptionally()).isTrue();
+    }
+
+    @Test
+    public void bulk_error_fails_all_callers() throws Exception {
+        // Given
+        final BatchingExecutor<Integer, String> executor = BatchingExecutor.of(keys -> {throw new AssertionError("bulk");}, 2,
+                                                                              Duration.ofMinutes(1), this.scheduler);
+
+        // When
+        final CompletableFuture<String> first = executor.submit(1).toCompletableFuture();
+        final AssertionError error = assertThrows(AssertionError.class, () -> executor.execute(2));
+
+        // Then
+        assertThat(error.getMessage()).isEqualTo("bulk");
+        assertThat(first.isCompletedExceptionally()).isTrue();
+    }
+
+    @Test
+    public void rejected_flush_fails_queued_items() throws Exception {
+        // Given
+        final BatchingExecutor<Integer, String> executor = BatchingExecutor.of(this::bulk, 3, Duration.ofMinutes(1), this.scheduler);
+        final CompletableFuture<String> first = executor.submit(1).toCompletableFuture();
+        final CompletableFuture<String> second = executor.submit(2).toCompletableFuture();
+        this.scheduler.shutdownNow();
+
+        // When
+        final CompletableFuture<String> third = executor.submit(3).toCompletableFuture();
+
+        // Then
+        assertThat(first.isCompletedExceptionally()).isTrue();
+        assertThat(second.isCompletedExceptionally()).isTrue();
+        assertThat(third.isCompletedExceptionally()).isTrue();
+        assertThrows(ExecutionException.class, () -> executor.execute(4));
+        assertThat(this.calls).isEmpty();
+    }
+
+    @Test
+    public void slow_bulk_does_not_delay_shared_scheduler() throws Exception {
+        // Given
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final BatchingExecutor<Integer, String> slow = BatchingExecutor.of(keys -> {
+            running.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return bulk(keys);
+        }, 1, Duration.ofMinutes(1), this.scheduler);
+        final BatchingExecutor<Integer, String> fast = BatchingExecutor.of(this::bulk, 100, Duration.ofMillis(10), this.scheduler);
+        final CompletableFuture<String> slowResult = slow.submit(1).toCompletableFuture();
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        final String result = fast.execute(2);
+
+        // Then
+        assertThat(result).isEqualTo("2");
+        assertThat(slowResult.isDone()).isFalse();
+        release.countDown();
+        assertThat(slowResult.get(5, TimeUnit.SECONDS)).isEqualTo("1");
+    }
+
+    @Test
+    public void rejected_dispatch_fails_batch() {
+        // Given
+        final ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+        dispatcher.shutdown();
+        final BatchingExecutor<Integer, String> executor = BatchingExecutor.of(this::bulk, 1, Duration.ZERO, this.scheduler, dispatcher);
+
+        // When
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> executor.execute(1));
+
+        // Then
+        assertThat(ex.getCause()).isInstanceOf(RejectedExecutionException.class);
+        assertThat(this.calls).isEmpty();
+    }
+
+    @Test
+    public void null_dispatcher() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> BatchingExecutor.of(this::bulk, 1, Duration.ZERO, this.scheduler, (ExecutorService) null));
+        assertThat(ex.getMessage()).isEqualTo("Dispatcher must be provided");
+    }
+
+    @Test
+    public void null_key() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> BatchingExecutor.of(this::bulk, 1, Duration.ZERO, this.scheduler).submit(null));
+        assertThat(ex.getMessage()).isEqualTo("Key must be provided");
+    }
+
+    private Map<Integer, String> bulk(final List<Integer> keys) {
+        this.calls.add(keys);
+        final Map<Integer, String> results = new HashMap<>();
+        for (final Integer key : keys) {
+            results.put(key, String.valueOf(key));
+        }
+        return results;
+    }
+}
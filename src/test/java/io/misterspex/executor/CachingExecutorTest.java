@@ -0,0 +1,204 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static com.google.common.truth.Truth.assertThat;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class CachingExecutorTest {
+
+    @Test
+    public void hit_after_miss() {
+        // Given
+        final CachingExecutor<String, Integer> cache = CachingExecutor.of(10, Duration.ofMinutes(1));
+        final AtomicInteger calls = new AtomicInteger();
+
+        // When
+        final Integer first = cache.execute("key", () -> calls.incrementAndGet());
+        final Integer second = cache.execute("key", () -> calls.incrementAndGet());
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        assertThat(cache.statistics().misses()).isEqualTo(1);
+        assertThat(cache.statistics().hits()).isEqualTo(1);
+        assertThat(cache.statistics().hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void expired_entry_executed_again() throws Exception {
+        // Given
+        final AtomicLong ticker = new AtomicLong();
+        final CachingExecutor<String, Integer> cache = new CachingExecutorImpl<>(10, Duration.ofMillis(10), Duration.ZERO, null, ticker::get);
+        final AtomicInteger calls = new AtomicInteger();
+        cache.execute("key", () -> calls.incrementAndGet());
+        ticker.addAndGet(Duration.ofMillis(10).toNanos());
+
+        // When
+        final Integer result = cache.execute("key", () -> calls.incrementAndGet());
+
+        // Then
+        assertThat(result).isEqualTo(2);
+        assertThat(cache.statistics().misses()).isEqualTo(2);
+    }
+
+    @Test
+    public void stale_while_revalidate() throws Exception {
+        // Given
+        final ExecutorService refresher = Executors.newSingleThreadExecutor();
+        final AtomicLong ticker = new AtomicLong();
+        final CachingExecutor<String, Integer> cache = new CachingExecutorImpl<>(10, Duration.ofMillis(500), Duration.ofMinutes(1), refresher,
+                                                                                 ticker::get);
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        cache.execute("key", () -> calls.incrementAndGet());
+        ticker.addAndGet(Duration.ofMillis(600).toNanos());
+
+        // When
+        final Integer stale = cache.execute("key", () -> {
+            release.await(5, TimeUnit.SECONDS);
+            return calls.incrementAndGet();
+        });
+        final Integer staleAgain = cache.execute("key", () -> calls.incrementAndGet());
+        release.countDown();
+        refresher.shutdown();
+        refresher.awaitTermination(5, TimeUnit.SECONDS);
+        final Integer fresh = cache.execute("key", () -> calls.incrementAndGet());
+
+        // Then
+        assertThat(stale).isEqualTo(1);
+        assertThat(staleAgain).isEqualTo(1);
+        assertThat(fresh).isEqualTo(2);
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(cache.statistics().staleHits()).isEqualTo(2);
+        assertThat(cache.statistics().refreshes()).isEqualTo(1);
+    }
+
+    @Test
+    public void failed_refresh_refreshes_again() throws Exception {
+        // Given
+        final ExecutorService refresher = Executors.newSingleThreadExecutor();
+        final AtomicLong ticker = new AtomicLong();
+        final CachingExecutor<String, Integer> cache = new CachingExecutorImpl<>(10, Duration.ofMillis(500), Duration.ofMinutes(1), refresher,
+                                                                                 ticker::get);
+        cache.execute("key", () -> 1);
+        ticker.addAndGet(Duration.ofMillis(600).toNanos());
+        cache.execute("key", () -> {throw new AssertionError("refresh");});
+        refresher.submit(() -> {}).get(5, TimeUnit.SECONDS);
+
+        // When
+        cache.execute("key", () -> 2);
+        refresher.shutdown();
+        refresher.awaitTermination(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(cache.execute("key", () -> 3)).isEqualTo(2);
+        assertThat(cache.statistics().refreshes()).isEqualTo(1);
+    }
+
+    @Test
+    public void evicts_unreferenced_entries() {
+        // Given
+        final CachingExecutor<Integer, Integer> cache = CachingExecutor.of(2, Duration.ofMinutes(1));
+        cache.execute(1, () -> 1);
+        cache.execute(2, () -> 2);
+        cache.execute(1, () -> -1);
+
+        // When
+        cache.execute(3, () -> 3);
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.statistics().evictions()).isEqualTo(1);
+        assertThat(cache.execute(1, () -> -1)).isEqualTo(1);
+        assertThat(cache.execute(3, () -> -3)).isEqualTo(3);
+    }
+
+    @Test
+    public void bounded_under_churn() {
+        // Given
+        final CachingExecutor<Integer, Integer> cache = CachingExecutor.of(100, Duration.ofMinutes(1));
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            final int value = i;
+            cache.execute(i % 1_000, () -> value);
+        }
+
+        // Then
+        assertThat(cache.size()).isAtMost(100L);
+    }
+
+    @Test
+    public void exception_not_cached() {
+        // Given
+        final CachingExecutor<String, String> cache = CachingExecutor.of(10, Duration.ofMinutes(1));
+
+        // When
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> cache.execute("key", () -> {throw new IllegalStateException("fail");}));
+
+        // Then
+        assertThat(ex.getMessage()).isEqualTo("fail");
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void invalidate() {
+        // Given
+        final CachingExecutor<String, String> cache = CachingExecutor.of(10, Duration.ofMinutes(1));
+        cache.execute("key", () -> "old");
+
+        // When
+        cache.invalidate("key");
+
+        // Then
+        assertThat(cache.execute("key", () -> "new")).isEqualTo("new");
+    }
+
+    @Test
+    public void null_key() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> CachingExecutor.of(10, Duration.ofMinutes(1)).execute(null, () -> "value"));
+        assertThat(ex.getMessage()).isEqualTo("Key must be provided");
+    }
+}
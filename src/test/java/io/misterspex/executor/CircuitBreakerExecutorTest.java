@@ -0,0 +1,164 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static com.google.common.truth.Truth.assertThat;
+import io.misterspex.executor.CircuitBreakerExecutor.State;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class CircuitBreakerExecutorTest {
+
+    @Test
+    public void opens_on_failure_rate() {
+        // Given
+        final CircuitBreakerExecutor breaker = CircuitBreakerExecutor.of(4, 50.0, Duration.ofMinutes(1));
+
+        // When
+        breaker.execute(() -> "ok");
+        breaker.execute(() -> "ok");
+        assertThrows(ExecutionException.class, () -> breaker.execute(() -> doThrow("fail")));
+        final State beforeThreshold = breaker.state();
+        assertThrows(ExecutionException.class, () -> breaker.execute(() -> doThrow("fail")));
+
+        // Then
+        assertThat(beforeThreshold).isEqualTo(State.CLOSED);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    public void not_filled_window_stays_closed() {
+        // Given
+        final CircuitBreakerExecutor breaker = CircuitBreakerExecutor.of(10, 10.0, Duration.ofMinutes(1));
+
+        // When
+        for (int i = 0; i < 9; i++) {
+            assertThrows(ExecutionException.class, () -> breaker.execute(() -> doThrow("fail")));
+        }
+
+        // Then
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    public void open_rejects_without_execution() {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final CircuitBreakerExecutor breaker = CircuitBreakerExecutor.of(1, 100.0, Duration.ofMinutes(1));
+        assertThrows(ExecutionException.class, () -> breaker.execute(() -> doThrow("fail")));
+
+        // When
+        final ExecutionRejectedException ex = assertThrows(ExecutionRejectedException.class, () -> breaker.execute(() -> calls.incrementAndGet()));
+
+        // Then
+        assertThat(ex.getMessage()).isEqualTo("Circuit is OPEN");
+        assertThat(calls.get()).isEqualTo(0);
+        assertThat(breaker.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    public void half_open_probe_closes() throws Exception {
+        // Given
+        final CircuitBreakerExecutor breaker = CircuitBreakerExecutor.of(1, 100.0, Duration.ofMillis(20));
+        assertThrows(ExecutionException.class, () -> breaker.execute(() -> doThrow("fail")));
+        Thread.sleep(30);
+
+        // When
+        final String result = breaker.execute(() -> "probe");
+
+        // Then
+        assertThat(result).isEqualTo("probe");
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    public void half_open_failed_probe_opens() throws Exception {
+        // Given
+        final CircuitBreakerExecutor breaker = CircuitBreakerExecutor.of(1, 100.0, Duration.ofMillis(20));
+        assertThrows(ExecutionException.class, () -> breaker.execute(() -> doThrow("fail")));
+        Thread.sleep(30);
+
+        // When
+        assertThrows(ExecutionException.class, () -> breaker.execute(() -> doThrow("probe")));
+
+        // Then
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThrows(ExecutionRejectedException.class, () -> breaker.execute(() -> "rejected"));
+    }
+
+    @Test
+    public void half_open_probe_error_opens() throws Exception {
+        // Given
+        final CircuitBreakerExecutor breaker = CircuitBreakerExecutor.of(1, 100.0, Duration.ofMillis(20));
+        assertThrows(ExecutionException.class, () -> breaker.execute(() -> doThrow("fail")));
+        Thread.sleep(30);
+
+        // When
+        assertThrows(AssertionError.class, () -> breaker.execute(() -> {throw new AssertionError("probe");}));
+
+        // Then
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        Thread.sleep(30);
+        assertThat(breaker.execute(() -> "recovered")).isEqualTo("recovered");
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    public void chained_with_trial_and_timing_executor() {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final TimingExecutor timing = TimingExecutor.of();
+        final CircuitBreakerExecutor breaker = CircuitBreakerExecutor.of(2, 100.0, Duration.ofMinutes(1), timing);
+        final TrialExecutor trial = TrialExecutor.of(5, breaker);
+
+        // When
+        assertThrows(ExecutionRejectedException.class, () -> trial.execute(() -> {calls.incrementAndGet(); return doThrow("fail");}));
+
+        // Then
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(trial.trials()).isEqualTo(3);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    public void illegal_failure_rate() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> CircuitBreakerExecutor.of(1, 0.0, Duration.ZERO));
+        assertThat(ex.getMessage()).startsWith("Failure rate must be > 0.0 and <= 100.0");
+    }
+
+    private String doThrow(final String message) {throw new RuntimeException(message);}
+}
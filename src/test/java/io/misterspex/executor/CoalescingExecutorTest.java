@@ -0,0 +1,140 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static com.google.common.truth.Truth.assertThat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class CoalescingExecutorTest {
+
+    @Test
+    public void concurrent_calls_share_execution() throws Exception {
+        // Given
+        final int callers = 8;
+        final CoalescingExecutor<String, Integer> executor = CoalescingExecutor.of();
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService pool = Executors.newFixedThreadPool(callers);
+        final List<Future<Integer>> results = new ArrayList<>();
+
+        // When
+        results.add(pool.submit(() -> executor.execute("key", () -> {
+            release.await(5, TimeUnit.SECONDS);
+            return executions.incrementAndGet();
+        })));
+        while (executor.inFlight() == 0) {
+            Thread.yield();
+        }
+        for (int i = 1; i < callers; i++) {
+            results.add(pool.submit(() -> executor.execute("key", () -> executions.incrementAndGet())));
+        }
+        while (executor.coalesced() < callers - 1) {
+            Thread.yield();
+        }
+        release.countDown();
+
+        // Then
+        for (final Future<Integer> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        }
+        pool.shutdown();
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(executor.inFlight()).isEqualTo(0);
+    }
+
+    @Test
+    public void concurrent_calls_share_exception() throws Exception {
+        // Given
+        final CoalescingExecutor<String, Integer> executor = CoalescingExecutor.of();
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService pool = Executors.newSingleThreadExecutor();
+        final Future<?> leader = pool.submit(() -> executor.execute("key", () -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("fail");
+        }));
+        while (executor.inFlight() == 0) {
+            Thread.yield();
+        }
+        final Thread releaser = new Thread(() -> {
+            while (executor.coalesced() == 0) {
+                Thread.yield();
+            }
+            release.countDown();
+        });
+        releaser.start();
+
+        // When
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> executor.execute("key", () -> 1));
+
+        // Then
+        assertThat(ex.getCause()).isInstanceOf(IllegalStateException.class);
+        assertThat(ex.getMessage()).isEqualTo("fail");
+        assertThrows(java.util.concurrent.ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertThat(executor.inFlight()).isEqualTo(0);
+    }
+
+    @Test
+    public void completed_key_executes_again() {
+        // Given
+        final CoalescingExecutor<String, Integer> executor = CoalescingExecutor.of();
+        final AtomicInteger executions = new AtomicInteger();
+
+        // When
+        executor.execute("key", () -> executions.incrementAndGet());
+        final Integer second = executor.execute("key", () -> executions.incrementAndGet());
+
+        // Then
+        assertThat(second).isEqualTo(2);
+        assertThat(executor.coalesced()).isEqualTo(0);
+        assertThat(executor.inFlight()).isEqualTo(0);
+    }
+
+    @Test
+    public void null_key() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> CoalescingExecutor.of().execute(null, () -> "value"));
+        assertThat(ex.getMessage()).isEqualTo("Key must be provided");
+    }
+}
@@ -0,0 +1,125 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static com.google.common.truth.Truth.assertThat;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class ConcurrencyLimitExecutorTest {
+
+    @Test
+    public void saturated_rejects() throws Exception {
+        // Given
+        final ConcurrencyLimitExecutor executor = ConcurrencyLimitExecutor.of(1, 1, 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService pool = Executors.newSingleThreadExecutor();
+        pool.submit(() -> executor.execute(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // When
+        final ExecutionRejectedException ex = assertThrows(ExecutionRejectedException.class, () -> executor.execute(() -> "rejected"));
+        release.countDown();
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(ex.getMessage()).startsWith("Concurrency limit reached");
+        assertThat(executor.rejected()).isEqualTo(1);
+        assertThat(executor.inFlight()).isEqualTo(0);
+        assertThat(executor.execute(() -> "accepted")).isEqualTo("accepted");
+    }
+
+    @Test
+    public void rising_latency_shrinks_limit() throws Exception {
+        // Given
+        final ConcurrencyLimitExecutor executor = new ConcurrencyLimitExecutorImpl(20, 1, 100, 0L);
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> "fast");
+        }
+        final int before = executor.limit();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            executor.execute(() -> {Thread.sleep(2); return "slow";});
+        }
+
+        // Then
+        assertThat(executor.limit()).isLessThan(before);
+        assertThat(executor.limit()).isAtLeast(1);
+    }
+
+    @Test
+    public void used_limit_grows() throws Exception {
+        // Given
+        final ConcurrencyLimitExecutor executor = new ConcurrencyLimitExecutorImpl(1, 1, 100, 0L);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            executor.execute(() -> "fast");
+        }
+
+        // Then
+        assertThat(executor.limit()).isAtLeast(2);
+    }
+
+    @Test
+    public void chained_execution() {
+        // Given
+        final TimingExecutor timing = TimingExecutor.of();
+        final ConcurrencyLimitExecutor executor = ConcurrencyLimitExecutor.of(timing);
+
+        // When
+        final String result = executor.execute(() -> "chained");
+
+        // Then
+        assertThat(result).isEqualTo("chained");
+        assertThat(timing.duration().isNegative()).isFalse();
+    }
+
+    @Test
+    public void illegal_initial_limit() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> ConcurrencyLimitExecutor.of(0, 1, 10));
+        assertThat(ex.getMessage()).startsWith("Initial limit must be >= 1 and <= 10");
+    }
+}
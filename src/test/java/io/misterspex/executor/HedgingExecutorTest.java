@@ -0,0 +1,172 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static com.google.common.truth.Truth.assertThat;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class HedgingExecutorTest {
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    public void setUp() {
+        this.executorService = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.executorService.shutdownNow();
+    }
+
+    @Test
+    public void fast_primary_no_hedge() {
+        // Given
+        final HedgingExecutor executor = HedgingExecutor.of(Duration.ofSeconds(1), this.executorService);
+
+        // When
+        final String result = executor.execute(() -> "primary");
+
+        // Then
+        assertThat(result).isEqualTo("primary");
+        assertThat(executor.hedged()).isEqualTo(0);
+        assertThat(executor.won()).isEqualTo(0);
+    }
+
+    @Test
+    public void slow_primary_hedge_wins_and_primary_cancelled() throws Exception {
+        // Given
+        final HedgingExecutor executor = HedgingExecutor.of(Duration.ofMillis(10), this.executorService);
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        // When
+        final String result = executor.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (final InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("hedge");
+        assertThat(executor.hedged()).isEqualTo(1);
+        assertThat(executor.won()).isEqualTo(1);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void failed_primary_hedge_succeeds() {
+        // Given
+        final HedgingExecutor executor = HedgingExecutor.of(Duration.ofMillis(10), this.executorService);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        final String result = executor.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                Thread.sleep(50);
+                throw new IllegalStateException("primary");
+            }
+            return "hedge";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("hedge");
+        assertThat(executor.won()).isEqualTo(1);
+    }
+
+    @Test
+    public void both_attempts_fail() {
+        // Given
+        final HedgingExecutor executor = HedgingExecutor.of(Duration.ofMillis(10), this.executorService);
+
+        // When
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> executor.execute(() -> {
+            Thread.sleep(50);
+            throw new IllegalStateException("fail");
+        }));
+
+        // Then
+        assertThat(ex.getMessage()).isEqualTo("fail");
+        assertThat(executor.hedged()).isEqualTo(1);
+    }
+
+    @Test
+    public void fast_failing_primary_fails_without_hedge() {
+        // Given
+        final HedgingExecutor executor = HedgingExecutor.of(Duration.ofSeconds(1), this.executorService);
+
+        // When
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> executor.execute(() -> {throw new IllegalStateException("fail");}));
+
+        // Then
+        assertThat(ex.getMessage()).isEqualTo("fail");
+        assertThat(executor.hedged()).isEqualTo(0);
+    }
+
+    @Test
+    public void percentile_delay_starts_with_min_delay() {
+        // Given
+        final HedgingExecutor executor = HedgingExecutor.of(95.0, Duration.ofMillis(50), this.executorService);
+
+        // When
+        executor.execute(() -> "value");
+
+        // Then
+        assertThat(executor.delay()).isEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    public void illegal_percentile() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> HedgingExecutor.of(100.0, Duration.ZERO, this.executorService));
+        assertThat(ex.getMessage()).startsWith("Percentile must be > 0.0 and < 100.0");
+    }
+}
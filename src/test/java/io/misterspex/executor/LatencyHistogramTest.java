@@ -0,0 +1,124 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static com.google.common.truth.Truth.assertThat;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void empty_snapshot() {
+        // When
+        final LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        // Then
+        assertThat(snapshot.count()).isEqualTo(0);
+        assertThat(snapshot.min()).isEqualTo(0);
+        assertThat(snapshot.max()).isEqualTo(0);
+        assertThat(snapshot.mean()).isEqualTo(0.0);
+        assertThat(snapshot.p99()).isEqualTo(0);
+    }
+
+    @Test
+    public void percentiles() {
+        // Given
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        // When
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        // Then
+        assertThat(snapshot.count()).isEqualTo(1000);
+        assertThat(snapshot.min()).isEqualTo(1_000);
+        assertThat(snapshot.max()).isEqualTo(1_000_000);
+        assertThat(snapshot.mean()).isEqualTo(500_500.0);
+        assertThat((double) snapshot.p50()).isWithin(500_000 * 0.032).of(500_000);
+        assertThat((double) snapshot.p99()).isWithin(990_000 * 0.032).of(990_000);
+        assertThat(snapshot.p999()).isAtMost(1_000_000L);
+        assertThat(snapshot.percentile(100.0)).isEqualTo(1_000_000);
+    }
+
+    @Test
+    public void exact_small_values_and_negative() {
+        // Given
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        // When
+        histogram.record(-5);
+        histogram.record(7);
+
+        // Then
+        assertThat(histogram.snapshot().percentile(50.0)).isEqualTo(0);
+        assertThat(histogram.snapshot().percentile(100.0)).isEqualTo(7);
+    }
+
+    @Test
+    public void snapshot_and_reset() {
+        // Given
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+
+        // When
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshotAndReset();
+
+        // Then
+        assertThat(snapshot.count()).isEqualTo(1);
+        assertThat(histogram.snapshot().count()).isEqualTo(0);
+    }
+
+    @Test
+    public void bucket_bounds() {
+        for (long value = 0; value < 100_000; value++) {
+            final int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.highestValueOf(index)).isAtLeast(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.highestValueOf(index - 1)).isLessThan(value);
+            }
+        }
+        assertThat(LatencyHistogram.indexOf(Long.MAX_VALUE)).isEqualTo(1887);
+        assertThat(LatencyHistogram.highestValueOf(1887)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void illegal_percentile() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram().snapshot().percentile(101));
+        assertThat(ex.getMessage()).startsWith("Percentile must be >= 0.0 and <= 100.0");
+    }
+}
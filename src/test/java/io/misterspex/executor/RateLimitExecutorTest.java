@@ -0,0 +1,138 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static com.google.common.truth.Truth.assertThat;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class RateLimitExecutorTest {
+
+    @Test
+    public void fail_fast_after_burst() {
+        // Given
+        final RateLimitExecutor executor = RateLimitExecutor.of(1.0, 3, Duration.ZERO);
+
+        // When
+        executor.execute(() -> "first");
+        executor.execute(() -> "second");
+        executor.execute(() -> "third");
+        final ExecutionRejectedException ex = assertThrows(ExecutionRejectedException.class, () -> executor.execute(() -> "fourth"));
+
+        // Then
+        assertThat(ex.getMessage()).isEqualTo("Rate limit exceeded");
+        assertThat(executor.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    public void blocking_paces_executions() {
+        // Given
+        final RateLimitExecutor executor = RateLimitExecutor.of(100.0);
+        final long start = System.nanoTime();
+
+        // When
+        for (int i = 0; i < 6; i++) {
+            executor.execute(() -> "paced");
+        }
+
+        // Then
+        assertThat(System.nanoTime() - start).isAtLeast(Duration.ofMillis(50).toNanos());
+        assertThat(executor.rejected()).isEqualTo(0);
+    }
+
+    @Test
+    public void timed_wait() {
+        // Given
+        final RateLimitExecutor executor = RateLimitExecutor.of(10.0, 1, Duration.ofMillis(150));
+        executor.execute(() -> "immediate");
+        final long start = System.nanoTime();
+
+        // When
+        final String waited = executor.execute(() -> "waited");
+
+        // Then
+        assertThat(waited).isEqualTo("waited");
+        assertThat(System.nanoTime() - start).isAtLeast(Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    public void timed_wait_exceeded() {
+        // Given
+        final RateLimitExecutor executor = RateLimitExecutor.of(10.0, 1, Duration.ofMillis(50));
+        executor.execute(() -> "immediate");
+
+        // When
+        assertThrows(ExecutionRejectedException.class, () -> executor.execute(() -> "rejected"));
+
+        // Then
+        assertThat(executor.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    public void interrupted_wait() {
+        // Given
+        final RateLimitExecutor executor = RateLimitExecutor.of(0.1);
+        executor.execute(() -> "immediate");
+        Thread.currentThread().interrupt();
+
+        // When
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> executor.execute(() -> "interrupted"));
+
+        // Then
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(ex.getCause()).isInstanceOf(InterruptedException.class);
+    }
+
+    @Test
+    public void chained_execution() {
+        // Given
+        final TimingExecutor timing = TimingExecutor.of();
+        final TrialExecutor trial = TrialExecutor.of(2, RateLimitExecutor.of(1000.0, timing));
+
+        // When
+        final String result = trial.execute(() -> "chained");
+
+        // Then
+        assertThat(result).isEqualTo("chained");
+        assertThat(trial.trials()).isEqualTo(1);
+    }
+
+    @Test
+    public void illegal_permits() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> RateLimitExecutor.of(0.0));
+        assertThat(ex.getMessage()).startsWith("Permits per second must be > 0");
+    }
+}
@@ -0,0 +1,123 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static com.google.common.truth.Truth.assertThat;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class RetryBudgetTest {
+
+    @Test
+    public void exhausted_budget() {
+        // Given
+        final RetryBudget budget = new RetryBudget(10.0, 2);
+
+        // When
+        final boolean first = budget.tryAcquire();
+        final boolean second = budget.tryAcquire();
+        final boolean third = budget.tryAcquire();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(budget.acquired()).isEqualTo(2);
+        assertThat(budget.exhausted()).isEqualTo(1);
+    }
+
+    @Test
+    public void deposit_refills_percentage() {
+        // Given
+        final RetryBudget budget = new RetryBudget(20.0, 2);
+        budget.tryAcquire();
+        budget.tryAcquire();
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            budget.deposit();
+        }
+        final boolean beforeFifth = budget.tryAcquire();
+        budget.deposit();
+        final boolean afterFifth = budget.tryAcquire();
+
+        // Then
+        assertThat(beforeFifth).isFalse();
+        assertThat(afterFifth).isTrue();
+    }
+
+    @Test
+    public void deposit_capped() {
+        // Given
+        final RetryBudget budget = new RetryBudget(100.0, 2);
+
+        // When
+        budget.deposit();
+
+        // Then
+        assertThat(budget.tokens()).isEqualTo(2.0);
+    }
+
+    @Test
+    public void shared_between_trial_executors() {
+        // Given
+        final RetryBudget budget = new RetryBudget(10.0, 3);
+        final TrialExecutor first = TrialExecutor.of(5, Backoff.none(), e -> true, budget);
+        final TrialExecutor second = TrialExecutor.of(5, Backoff.none(), e -> true, budget);
+        final AtomicInteger calls = new AtomicInteger();
+
+        // When
+        assertThrows(ExecutionException.class, () -> first.execute(() -> {calls.incrementAndGet(); throw new IllegalStateException();}));
+        assertThrows(ExecutionException.class, () -> second.execute(() -> {calls.incrementAndGet(); throw new IllegalStateException();}));
+
+        // Then
+        assertThat(calls.get()).isEqualTo(5);
+        assertThat(budget.acquired()).isEqualTo(3);
+        assertThat(budget.exhausted()).isEqualTo(2);
+    }
+
+    @Test
+    public void illegal_percent() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> new RetryBudget(101.0, 1));
+        assertThat(ex.getMessage()).startsWith("Percent must be >= 0.0 and <= 100.0");
+    }
+
+    @Test
+    public void illegal_max_tokens() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> new RetryBudget(10.0, 0));
+        assertThat(ex.getMessage()).startsWith("Max tokens must be > 0");
+    }
+}
@@ -33,6 +33,10 @@ package io.misterspex.executor;
 import static com.google.common.truth.Truth.assertThat;
 import static io.misterspex.executor.TimingExecutor.of;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -94,4 +98,147 @@ public class TimingExecutorTest {
         assertThat(ex.getMessage()).isEqualTo("throwable");
         assertThat(executor.duration().getNano()).isGreaterThan(0);
     }
+
+    @Test
+    public void execute_timed() {
+        // Given
+        final TimingExecutor executor = of();
+
+        // When
+        final Outcome<String> outcome = executor.executeTimed(() -> "value");
+
+        // Then
+        assertThat(outcome.value()).isEqualTo("value");
+        assertThat(outcome.nanos()).isGreaterThan(0L);
+        assertThat(outcome.duration().toNanos()).isEqualTo(outcome.nanos());
+        assertThat(outcome.trials()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_timed_read_on_other_thread() throws Exception {
+        // Given
+        final TimingExecutor executor = of();
+
+        // When
+        final Outcome<String> outcome = CompletableFuture.supplyAsync(() -> executor.executeTimed(() -> "value")).get();
+
+        // Then
+        assertThat(outcome.value()).isEqualTo("value");
+        assertThat(outcome.nanos()).isGreaterThan(0L);
+    }
+
+    @Test
+    public void execute_timed_chained_trials() {
+        // Given
+        final int[] calls = {0};
+        final TimingExecutor executor = of(TrialExecutor.of(3));
+
+        // When
+        final Outcome<String> outcome = executor.executeTimed(() -> {
+            if (++calls[0] < 2) {
+                throw new IllegalStateException("transient");
+            }
+            return "value";
+        });
+
+        // Then
+        assertThat(outcome.value()).isEqualTo("value");
+        assertThat(outcome.trials()).isEqualTo(2);
+    }
+
+    @Test
+    public void execute_timed_chained_outcome_carries_wrapper_duration() {
+        // Given
+        final TimingExecutor inner = TimingExecutor.ofStatistics();
+        final TimingExecutor executor = TimingExecutor.ofStatistics(TrialExecutor.of(3, inner));
+
+        // When
+        final Outcome<String> outcome = executor.executeTimed(() -> "value");
+
+        // Then
+        assertThat(outcome.value()).isEqualTo("value");
+        assertThat(outcome.trials()).isEqualTo(1);
+        assertThat(executor.statistics().get().snapshot().totalNanos()).isEqualTo(outcome.nanos());
+        assertThat(inner.statistics().get().snapshot().count()).isEqualTo(1L);
+        assertThat(inner.statistics().get().snapshot().totalNanos()).isAtMost(outcome.nanos());
+    }
+
+    @Test
+    public void execute_timed_exception() {
+        // Given
+        final TimingExecutor executor = of();
+
+        // When
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> executor.executeTimed(() -> {throw new RuntimeException("test");}));
+
+        // Then
+        assertThat(ex.getCause().getMessage()).isEqualTo("test");
+    }
+
+    @Test
+    public void no_statistics_by_default() {
+        // Given
+        final TimingExecutor executor = of();
+
+        // When
+        executor.execute(() -> {;});
+
+        // Then
+        assertThat(executor.statistics().isPresent()).isFalse();
+    }
+
+    @Test
+    public void statistics_aggregate_all_threads() throws Exception {
+        // Given
+        final TimingExecutor executor = TimingExecutor.ofStatistics();
+        final ExecutorService threads = Executors.newFixedThreadPool(4);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            threads.execute(() -> executor.execute(() -> {;}));
+        }
+        threads.shutdown();
+        threads.awaitTermination(5, TimeUnit.SECONDS);
+        executor.executeTimed(() -> "value");
+
+        // Then
+        final TimingStatistics.Snapshot snapshot = executor.statistics().get().snapshot();
+        assertThat(snapshot.count()).isEqualTo(101L);
+        assertThat(snapshot.latencies().count()).isEqualTo(101L);
+        assertThat(snapshot.min()).isAtMost(snapshot.max());
+        assertThat(snapshot.totalNanos()).isAtLeast(snapshot.max());
+        assertThat(snapshot.mean()).isAtLeast((double) snapshot.min());
+        assertThat(snapshot.mean()).isAtMost((double) snapshot.max());
+        assertThat(snapshot.throughput()).isGreaterThan(0.0);
+    }
+
+    @Test
+    public void statistics_count_failures() {
+        // Given
+        final TimingExecutor executor = TimingExecutor.ofStatistics(TrialExecutor.of(1));
+
+        // When
+        assertThrows(ExecutionException.class, () -> executor.execute(() -> {throw new RuntimeException("test");}));
+
+        // Then
+        assertThat(executor.statistics().get().snapshot().count()).isEqualTo(1L);
+    }
+
+    @Test
+    public void statistics_snapshot_and_reset() {
+        // Given
+        final TimingExecutor executor = TimingExecutor.ofStatistics();
+        executor.execute(() -> {;});
+
+        // When
+        final TimingStatistics.Snapshot snapshot = executor.statistics().get().snapshotAndReset();
+
+        // Then
+        assertThat(snapshot.count()).isEqualTo(1L);
+        final TimingStatistics.Snapshot empty = executor.statistics().get().snapshot();
+        assertThat(empty.count()).isEqualTo(0L);
+        assertThat(empty.min()).isEqualTo(0L);
+        assertThat(empty.max()).isEqualTo(0L);
+        assertThat(empty.mean()).isEqualTo(0.0);
+    }
 }
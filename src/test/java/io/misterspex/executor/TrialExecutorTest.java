@@ -34,7 +34,13 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static com.google.common.truth.Truth.assertThat;
 import static io.misterspex.executor.TrialExecutor.of;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  *
@@ -109,6 +115,154 @@ public class TrialExecutorTest {
         assertThat(ex.getCause().getLocalizedMessage()).isEqualTo("return");
     }
 
+    @Test
+    public void backoff_between_trials() {
+        // Given
+        final List<Long> delays = new ArrayList<>();
+        final TrialExecutor executor = of(3, (retry, previous) -> {
+            delays.add(previous);
+            return retry;
+        });
+
+        // When
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> executor.execute(() -> doThrowNoReturn("fail")));
+
+        // Then
+        assertThat(ex.getCause().getLocalizedMessage()).isEqualTo("fail");
+        assertThat(delays).containsExactly(0L, 1L, 2L).inOrder();
+        assertThat(executor.trials()).isEqualTo(4);
+    }
+
+    @Test
+    public void fixed_backoff_pauses() {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final TrialExecutor executor = of(2, Backoff.fixed(Duration.ofMillis(20)));
+        final long start = System.nanoTime();
+
+        // When
+        final Integer result = executor.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IllegalStateException();
+            }
+            return calls.get();
+        });
+
+        // Then
+        assertThat(result).isEqualTo(3);
+        assertThat(System.nanoTime() - start).isAtLeast(Duration.ofMillis(40).toNanos());
+    }
+
+    @Test
+    public void non_retryable_exception() {
+        // Given
+        final TrialExecutor executor = of(5, Backoff.none(), TrialExecutor.retryOn(UncheckedIOException.class));
+
+        // When
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> executor.execute(() -> doThrowNoReturn("fail")));
+
+        // Then
+        assertThat(ex.getCause().getLocalizedMessage()).isEqualTo("fail");
+        assertThat(executor.trials()).isEqualTo(1);
+    }
+
+    @Test
+    public void retryable_exception() {
+        // Given
+        final TrialExecutor executor = of(2, Backoff.none(), TrialExecutor.retryOn(UncheckedIOException.class));
+
+        // When
+        assertThrows(ExecutionException.class, () -> executor.execute(() -> {throw new UncheckedIOException(new IOException("io"));}));
+
+        // Then
+        assertThat(executor.trials()).isEqualTo(3);
+    }
+
+    @Test
+    public void interrupted_backoff() {
+        // Given
+        final TrialExecutor executor = of(5, Backoff.fixed(Duration.ofSeconds(10)));
+        Thread.currentThread().interrupt();
+
+        // When
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> executor.execute(() -> doThrowNoReturn("fail")));
+
+        // Then
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(ex.getCause().getLocalizedMessage()).isEqualTo("fail");
+        assertThat(executor.trials()).isEqualTo(1);
+    }
+
+    @Test
+    public void retry_on_cause_of_chained_executor() {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final TrialExecutor executor = of(3, Backoff.none(), TrialExecutor.retryOn(IOException.class), TimingExecutor.of());
+
+        // When
+        final String result = executor.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IOException("transient");
+            }
+            return "value";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("value");
+        assertThat(executor.trials()).isEqualTo(3);
+    }
+
+    @Test
+    public void no_retry_on_other_cause_of_chained_executor() {
+        // Given
+        final TrialExecutor executor = of(3, Backoff.none(), TrialExecutor.retryOn(IOException.class), TimingExecutor.of());
+
+        // When
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> executor.execute(() -> doThrow("fatal")));
+
+        // Then
+        assertThat(ex.getCause().getLocalizedMessage()).isEqualTo("fatal");
+        assertThat(executor.trials()).isEqualTo(1);
+    }
+
+    @Test
+    public void null_backoff() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> of(1, (Backoff) null));
+        assertThat(ex.getLocalizedMessage()).isEqualTo("Backoff must be provided");
+    }
+
+    @Test
+    public void execute_timed_counts_trials() {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final TrialExecutor executor = of(5);
+
+        // When
+        final Outcome<String> outcome = executor.executeTimed(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IOException("transient");
+            }
+            return "value";
+        });
+
+        // Then
+        assertThat(outcome.value()).isEqualTo("value");
+        assertThat(outcome.trials()).isEqualTo(3);
+        assertThat(outcome.nanos()).isGreaterThan(0L);
+    }
+
+    @Test
+    public void execute_timed_max_tries() {
+        // Given
+        final TrialExecutor executor = of(1);
+
+        // When
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> executor.executeTimed(() -> doThrow("fail")));
+
+        // Then
+        assertThat(ex.getCause().getLocalizedMessage()).isEqualTo("fail");
+    }
+
     private Holder doReturn(final Holder holder) {holder.hold = "abc"; return holder;}
     private void noReturn(final Holder holder) {holder.hold = "abc";}
     private String doThrow(final String message) {throw new RuntimeException(message);}
@@ -0,0 +1,128 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor;
+
+import static com.google.common.truth.Truth.assertThat;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class VirtualThreadsTest {
+
+    @Test
+    public void executor_service_executes() throws Exception {
+        // Given
+        final ExecutorService executorService = VirtualThreads.newExecutorService();
+
+        // When
+        final Future<String> result = executorService.submit(() -> "executed");
+
+        // Then
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("executed");
+        executorService.shutdown();
+    }
+
+    @Test
+    public void blocking_tasks_beyond_pool_sizes() throws Exception {
+        // Given
+        final int tasks = 1_000;
+        final ExecutorService executorService = VirtualThreads.newExecutorService();
+        final CountDownLatch started = new CountDownLatch(tasks);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        for (int i = 0; i < tasks; i++) {
+            executorService.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        // Then
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+        executorService.shutdown();
+    }
+
+    @Test
+    public void thread_factory_names() throws Exception {
+        // Given
+        final AtomicReference<String> name = new AtomicReference<>();
+
+        // When
+        final Thread thread = VirtualThreads.threadFactory("test").newThread(() -> name.set(Thread.currentThread().getName()));
+        thread.start();
+        thread.join(5_000);
+
+        // Then
+        assertThat(name.get()).isEqualTo("test-0");
+        assertThat(thread.isDaemon()).isTrue();
+    }
+
+    @Test
+    public void null_name() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> VirtualThreads.threadFactory(null));
+        assertThat(ex.getMessage()).isEqualTo("Name must be provided");
+    }
+
+    @Test
+    public void platform_thread_factory_creates_daemon_threads() throws Exception {
+        // Given
+        final AtomicReference<String> name = new AtomicReference<>();
+
+        // When
+        final Thread thread = VirtualThreads.platformThreadFactory("platform-test").newThread(() -> name.set(Thread.currentThread().getName()));
+        thread.start();
+        thread.join(5_000);
+
+        // Then
+        assertThat(name.get()).isEqualTo("platform-test-0");
+        assertThat(thread.isDaemon()).isTrue();
+    }
+
+    @Test
+    public void platform_thread_factory_null_name() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> VirtualThreads.platformThreadFactory(null));
+        assertThat(ex.getMessage()).isEqualTo("Name must be provided");
+    }
+}
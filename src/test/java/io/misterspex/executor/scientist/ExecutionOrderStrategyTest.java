@@ -0,0 +1,113 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor.scientist;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.misterspex.executor.scientist.Experiment.ExecutionOrder.CANDIDATE_FIRST;
+import static io.misterspex.executor.scientist.Experiment.ExecutionOrder.CONTROL_FIRST;
+import io.misterspex.executor.scientist.Experiment.ExecutionOrder;
+import java.util.EnumSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class ExecutionOrderStrategyTest {
+
+    @Test
+    public void random_returns_both_orders() {
+        // Given
+        final ExecutionOrderStrategy strategy = ExecutionOrderStrategy.random();
+        final Set<ExecutionOrder> orders = EnumSet.noneOf(ExecutionOrder.class);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            orders.add(strategy.next());
+        }
+
+        // Then
+        assertThat(orders).containsExactly(CONTROL_FIRST, CANDIDATE_FIRST);
+    }
+
+    @Test
+    public void alternating() {
+        // Given
+        final ExecutionOrderStrategy strategy = ExecutionOrderStrategy.alternating();
+
+        // Then
+        assertThat(strategy.next()).isEqualTo(CONTROL_FIRST);
+        assertThat(strategy.next()).isEqualTo(CANDIDATE_FIRST);
+        assertThat(strategy.next()).isEqualTo(CONTROL_FIRST);
+    }
+
+    @Test
+    public void seeded_is_reproducible() {
+        // Given
+        final ExecutionOrderStrategy first = ExecutionOrderStrategy.seeded(42);
+        final ExecutionOrderStrategy second = ExecutionOrderStrategy.seeded(42);
+        int candidateFirst = 0;
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            final ExecutionOrder order = first.next();
+            assertThat(second.next()).isEqualTo(order);
+            if (order.isCandidateFirst()) {
+                candidateFirst++;
+            }
+        }
+
+        // Then
+        assertThat(candidateFirst).isGreaterThan(400);
+        assertThat(candidateFirst).isLessThan(600);
+    }
+
+    @Test
+    public void weighted_bounds() {
+        // Given
+        final ExecutionOrderStrategy never = ExecutionOrderStrategy.weighted(0.0);
+        final ExecutionOrderStrategy always = ExecutionOrderStrategy.weighted(1.0);
+
+        // Then
+        for (int i = 0; i < 100; i++) {
+            assertThat(never.next()).isEqualTo(CONTROL_FIRST);
+            assertThat(always.next()).isEqualTo(CANDIDATE_FIRST);
+        }
+    }
+
+    @Test
+    public void weighted_illegal_ratio() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> ExecutionOrderStrategy.weighted(1.5));
+        assertThat(ex.getMessage()).startsWith("Ratio must be >= 0.0 and <= 1.0");
+    }
+}
@@ -34,11 +34,22 @@ import static com.google.common.truth.Truth.assertThat;
 import io.misterspex.executor.ExecutionException;
 import io.misterspex.executor.scientist.Experiment.ExecutionOrder;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiPredicate;
 import org.junit.jupiter.api.Test;
 import static java.lang.System.currentTimeMillis;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -80,6 +91,27 @@ public class ExperimentTest {
         assertThat(candidate.value()).isEqualTo("candidate");
     }
 
+    @Test
+    public void synchronize_latency_histograms() throws Exception {
+        
+        // Given
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected boolean publishEnabled() {
+                return false;
+            }
+        };
+        
+        // When
+        scientist.execute(() -> "control", () -> "candidate");
+        scientist.execute(() -> "control", () -> "candidate");
+        
+        // Then
+        assertThat(scientist.controlLatencies().snapshot().count()).isEqualTo(2);
+        assertThat(scientist.candidateLatencies().snapshot().count()).isEqualTo(2);
+        assertThat(scientist.controlLatencies().snapshot().max()).isGreaterThan(0);
+    }
+
     @Test
     public void asynchronize_without_context() throws Exception {
         
@@ -123,6 +155,161 @@ public class ExperimentTest {
         assertThat(candidate.toString()).contains("Observation");
     }
     
+    @Test
+    public void completion_stage_completes_with_control_before_candidate() throws Exception {
+        
+        // Given
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final CompletableFuture<String> candidateFuture = new CompletableFuture<>();
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+            }
+        };
+        
+        // When
+        final CompletionStage<String> stage = scientist.executeAsync(() -> CompletableFuture.completedFuture("control"), () -> candidateFuture);
+        
+        // Then
+        assertThat(stage.toCompletableFuture().getNow(null)).isEqualTo("control");
+        assertThat(resultReference.get()).isNull();
+
+        // When
+        candidateFuture.complete("candidate");
+
+        // Then
+        assertThat(resultReference.get().controlObservation().value()).isEqualTo("control");
+        final Observation<String> candidate = (Observation<String>) resultReference.get().candidateObservation().get();
+        assertThat(candidate.value()).isEqualTo("candidate");
+    }
+
+    @Test
+    public void completion_stage_control_failing() throws Exception {
+        
+        // Given
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final CompletableFuture<String> controlFuture = new CompletableFuture<>();
+        controlFuture.completeExceptionally(new IOException("io exception"));
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+            }
+        };
+        
+        // When
+        final CompletionStage<String> stage = scientist.executeAsync(() -> controlFuture, () -> {throw new IllegalStateException("candidate");});
+        final java.util.concurrent.ExecutionException ex = assertThrows(java.util.concurrent.ExecutionException.class, () -> stage.toCompletableFuture().get());
+        
+        // Then
+        assertThat(ex.getCause()).isInstanceOf(IOException.class);
+        assertThat(resultReference.get().controlObservation().exception().get()).isInstanceOf(IOException.class);
+        final Observation<String> candidate = (Observation<String>) resultReference.get().candidateObservation().get();
+        assertThat(candidate.exception().get().getMessage()).isEqualTo("candidate");
+    }
+
+    @Test
+    public void completion_stage_not_enabled() throws Exception {
+        
+        // Given
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+            }
+            @Override
+            protected boolean enabled() {
+                return false;
+            }
+        };
+        
+        // When
+        final CompletionStage<String> stage = scientist.executeAsync(() -> CompletableFuture.completedFuture("control"), () -> {throw new IllegalStateException();});
+        
+        // Then
+        assertThat(stage.toCompletableFuture().get()).isEqualTo("control");
+        assertThat(resultReference.get().candidateObservation().isPresent()).isFalse();
+    }
+
+    @Test
+    public void asynchronous_candidate_timeout() throws Exception {
+        // Given
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final CountDownLatch published = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final AtomicReference<String> publishingThread = new AtomicReference<>();
+        final Experiment<String> scientist = new Experiment<String>("async", executorService) {
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+                publishingThread.set(Thread.currentThread().getName());
+                published.countDown();
+            }
+            @Override
+            protected Optional<Duration> candidateTimeout() {
+                return Optional.of(Duration.ofMillis(50));
+            }
+        };
+        
+        // When
+        final String result = scientist.execute(() -> "control", () -> {
+                                                    try {
+                                                        Thread.sleep(10_000);
+                                                    } catch (final InterruptedException e) {
+                                                        interrupted.countDown();
+                                                    }
+                                                    return "candidate";
+                                                });
+        
+        // Then
+        assertThat(result).isEqualTo("control");
+        assertThat(published.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        executorService.shutdown();
+
+        final Observation<String> candidate = (Observation<String>) resultReference.get().candidateObservation().get();
+        assertThat(candidate.timedOut()).isTrue();
+        assertThat(candidate.exception().get()).isInstanceOf(TimeoutException.class);
+        assertThat(candidate.duration()).isEqualTo(Duration.ofMillis(50));
+        assertThat(resultReference.get().controlObservation().timedOut()).isFalse();
+        assertThat(publishingThread.get()).isNotEqualTo("experiment-deadline");
+    }
+
+    @Test
+    public void completion_stage_candidate_timeout() throws Exception {
+        // Given
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final CountDownLatch published = new CountDownLatch(1);
+        final CompletableFuture<String> candidateFuture = new CompletableFuture<>();
+        final AtomicReference<String> publishingThread = new AtomicReference<>();
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+                publishingThread.set(Thread.currentThread().getName());
+                published.countDown();
+            }
+            @Override
+            protected Optional<Duration> candidateTimeout() {
+                return Optional.of(Duration.ofMillis(10));
+            }
+        };
+        
+        // When
+        final CompletionStage<String> stage = scientist.executeAsync(() -> CompletableFuture.completedFuture("control"), () -> candidateFuture);
+        
+        // Then
+        assertThat(stage.toCompletableFuture().get()).isEqualTo("control");
+        assertThat(published.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(candidateFuture.isCancelled()).isTrue();
+        final Observation<String> candidate = (Observation<String>) resultReference.get().candidateObservation().get();
+        assertThat(candidate.timedOut()).isTrue();
+        assertThat(publishingThread.get()).startsWith("experiment-expiry");
+    }
+
     @Test
     public void execution_order() {
         assertThat(Experiment.ExecutionOrder.CANDIDATE_FIRST.isCandidateFirst()).isTrue();
@@ -158,6 +345,220 @@ public class ExperimentTest {
         assertThat(resultReference.get().candidateObservation().isPresent()).isFalse();
     }
 
+    @Test
+    public void synchronize_publish_not_enabled() throws Exception {
+        // Given
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final AtomicReference<String> candidateReference = new AtomicReference<>();
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+            }
+            @Override
+            protected boolean publishEnabled() {
+                return false;
+            }
+        };
+        
+        // When
+        final String result = scientist.execute(() -> "control", () -> {candidateReference.set("candidate"); return "candidate";});
+        
+        // Then
+        assertThat(result).isEqualTo("control");
+        assertThat(candidateReference.get()).isEqualTo("candidate");
+        assertThat(resultReference.get()).isNull();
+    }
+
+    @Test
+    public void synchronize_publish_not_enabled_control_throwing() throws Exception {
+        // Given
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected boolean publishEnabled() {
+                return false;
+            }
+        };
+        
+        // When
+        final IOException ex = assertThrows(IOException.class, () -> scientist.execute(() -> {throw new IOException("io exception");}, () -> "candidate"));
+        
+        // Then
+        assertThat(ex.getMessage()).isEqualTo("io exception");
+    }
+
+    @Test
+    public void synchronize_sampler() throws Exception {
+        // Given
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final AtomicReference<Long> recorded = new AtomicReference<>();
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+            }
+            @Override
+            protected Sampler sampler() {
+                return new Sampler() {
+                    @Override
+                    public boolean sample() {
+                        return false;
+                    }
+                    @Override
+                    public void record(final boolean sampled, final long controlNanos) {
+                        recorded.set(sampled ? -1 : controlNanos);
+                    }
+                };
+            }
+        };
+        
+        // When
+        final String result = scientist.execute(() -> "control", () -> "candidate");
+        
+        // Then
+        assertThat(result).isEqualTo("control");
+        assertThat(resultReference.get().candidateObservation().isPresent()).isFalse();
+        assertThat(recorded.get()).isEqualTo(resultReference.get().controlObservation().durationNanos());
+    }
+
+    @Test
+    public void stateful_sampler_is_kept() throws Exception {
+        // Given
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger candidates = new AtomicInteger();
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected Sampler sampler() {
+                created.incrementAndGet();
+                return Sampler.rateLimited(1);
+            }
+        };
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            scientist.execute(() -> "control", () -> {candidates.incrementAndGet(); return "candidate";});
+        }
+
+        // Then
+        assertThat(created.get()).isEqualTo(1);
+        assertThat(candidates.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void synchronize_comparisons() throws Exception {
+        // Given
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+            }
+        };
+
+        // When
+        scientist.execute(() -> "value", () -> "value");
+        final Optional<Comparison> match = resultReference.get().comparison();
+        scientist.execute(() -> "control", () -> "candidate");
+        final Optional<Comparison> mismatch = resultReference.get().comparison();
+        scientist.execute(() -> "control", () -> { throw new IOException(); });
+        final Optional<Comparison> candidateOnlyFailure = resultReference.get().comparison();
+        assertThrows(IOException.class, () -> scientist.execute(() -> { throw new IOException(); }, () -> "candidate"));
+        final Optional<Comparison> exceptionMismatch = resultReference.get().comparison();
+        assertThrows(IOException.class, () -> scientist.execute(() -> { throw new IOException(); }, () -> { throw new IOException(); }));
+
+        // Then
+        assertThat(match).hasValue(Comparison.MATCH);
+        assertThat(mismatch).hasValue(Comparison.MISMATCH);
+        assertThat(candidateOnlyFailure).hasValue(Comparison.CANDIDATE_ONLY_FAILURE);
+        assertThat(exceptionMismatch).hasValue(Comparison.EXCEPTION_MISMATCH);
+        assertThat(resultReference.get().comparison()).hasValue(Comparison.MATCH);
+        assertThat(scientist.comparisons().matches()).isEqualTo(2);
+        assertThat(scientist.comparisons().mismatches()).isEqualTo(1);
+        assertThat(scientist.comparisons().candidateOnlyFailures()).isEqualTo(1);
+        assertThat(scientist.comparisons().exceptionMismatches()).isEqualTo(1);
+        assertThat(scientist.comparisons().total()).isEqualTo(5);
+    }
+
+    @Test
+    public void synchronize_comparator_and_publish_only_mismatches() throws Exception {
+        // Given
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+            }
+            @Override
+            protected BiPredicate<String, String> comparator() {
+                return String::equalsIgnoreCase;
+            }
+            @Override
+            protected boolean publishOnlyMismatches() {
+                return true;
+            }
+        };
+
+        // When
+        scientist.execute(() -> "value", () -> "VALUE");
+        final Result matched = resultReference.get();
+        scientist.execute(() -> "control", () -> "candidate");
+
+        // Then
+        assertThat(matched).isNull();
+        assertThat(resultReference.get().comparison()).hasValue(Comparison.MISMATCH);
+        assertThat(scientist.comparisons().matches()).isEqualTo(1);
+        assertThat(scientist.comparisons().mismatches()).isEqualTo(1);
+    }
+
+    @Test
+    public void asynchronize_comparisons() throws Exception {
+        // Given
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final CountDownLatch published = new CountDownLatch(1);
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final Experiment<String> scientist = new Experiment<String>("async", executorService) {
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+                published.countDown();
+            }
+        };
+
+        // When
+        scientist.execute(() -> "control", () -> "candidate");
+        published.await(1, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // Then
+        assertThat(resultReference.get().comparison()).hasValue(Comparison.MISMATCH);
+        assertThat(scientist.comparisons().mismatches()).isEqualTo(1);
+    }
+
+    @Test
+    public void completion_stage_comparisons() throws Exception {
+        // Given
+        final CountDownLatch published = new CountDownLatch(1);
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+                published.countDown();
+            }
+        };
+
+        // When
+        final String result = scientist.executeAsync(() -> CompletableFuture.completedFuture("value"),
+                                                     () -> CompletableFuture.supplyAsync(() -> "value"))
+                                       .toCompletableFuture().get(1, TimeUnit.SECONDS);
+        published.await(1, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(result).isEqualTo("value");
+        assertThat(resultReference.get().comparison()).hasValue(Comparison.MATCH);
+        assertThat(scientist.comparisons().matches()).isEqualTo(1);
+    }
+
     @Test
     public void asynchronize_not_enabled_with_context() throws Exception {
         // Given
@@ -441,4 +842,251 @@ public class ExperimentTest {
         // Then
         assertThrows(ExecutionException.class, () -> scientist.execute(() -> {throw new ExecutionException(null);}, () -> "candidate"));
     }
+
+    @Test
+    public void resources_not_measured_by_default() throws Exception {
+
+        // Given
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+            }
+        };
+
+        // When
+        scientist.execute(() -> "control", () -> "candidate");
+
+        // Then
+        assertThat(resultReference.get().controlObservation().cpuTime().isPresent()).isFalse();
+        assertThat(resultReference.get().controlObservation().allocatedBytes().isPresent()).isFalse();
+    }
+
+    @Test
+    public void synchronize_measure_resources() throws Exception {
+
+        // Given
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected boolean measureResources() {
+                return true;
+            }
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+            }
+        };
+
+        // When
+        scientist.execute(() -> "control", () -> new String(new char[100_000]));
+
+        // Then
+        final Observation<String> control = resultReference.get().controlObservation();
+        final Observation<String> candidate = (Observation<String>) resultReference.get().candidateObservation().get();
+        assertThat(control.cpuTime().isPresent()).isTrue();
+        assertThat(candidate.cpuTime().get().isNegative()).isFalse();
+        assertThat(candidate.allocatedBytes().getAsLong()).isAtLeast(100_000L);
+        assertThat(candidate.allocatedBytes().getAsLong()).isGreaterThan(control.allocatedBytes().getAsLong());
+    }
+
+    @Test
+    public void asynchronous_measure_resources() throws Exception {
+
+        // Given
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final CountDownLatch published = new CountDownLatch(1);
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final Experiment<String> scientist = new Experiment<String>("resources", executor) {
+            @Override
+            protected boolean measureResources() {
+                return true;
+            }
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+                published.countDown();
+            }
+        };
+
+        // When
+        scientist.execute(() -> "control", () -> new String(new char[100_000]));
+
+        // Then
+        assertThat(published.await(5, TimeUnit.SECONDS)).isTrue();
+        final Observation<String> candidate = (Observation<String>) resultReference.get().candidateObservation().get();
+        assertThat(candidate.cpuTime().isPresent()).isTrue();
+        assertThat(candidate.allocatedBytes().getAsLong()).isAtLeast(100_000L);
+        executor.shutdown();
+    }
+
+    @Test
+    public void synchronize_named_candidates() throws Exception {
+
+        // Given
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final AtomicInteger controlCalls = new AtomicInteger();
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+            }
+        };
+        final Map<String, Callable<String>> candidates = new LinkedHashMap<>();
+        candidates.put("first", () -> "control");
+        candidates.put("second", () -> "other");
+        candidates.put("third", () -> {throw new IllegalStateException("third");});
+
+        // When
+        final String result = scientist.execute(() -> {controlCalls.incrementAndGet(); return "control";}, candidates);
+
+        // Then
+        assertThat(result).isEqualTo("control");
+        assertThat(controlCalls.get()).isEqualTo(1);
+        final Result<String> published = resultReference.get();
+        assertThat(published.candidateObservations().keySet()).containsExactly("first", "second", "third").inOrder();
+        assertThat(published.candidateObservations().get("second").value()).isEqualTo("other");
+        assertThat(published.comparisons()).containsExactly("first", Comparison.MATCH,
+                                                            "second", Comparison.MISMATCH,
+                                                            "third", Comparison.CANDIDATE_ONLY_FAILURE);
+        assertThat(published.candidateObservation().get().value()).isEqualTo("control");
+        assertThat(published.comparison().get()).isEqualTo(Comparison.MATCH);
+        assertThat(scientist.comparisons("first").matches()).isEqualTo(1);
+        assertThat(scientist.comparisons("second").mismatches()).isEqualTo(1);
+        assertThat(scientist.comparisons("third").candidateOnlyFailures()).isEqualTo(1);
+        assertThat(scientist.candidateLatencies("first").snapshot().count()).isEqualTo(1);
+        assertThat(scientist.candidateLatencies("third").snapshot().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void named_candidates_not_counted_for_single_candidate() throws Exception {
+
+        // Given
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected boolean publishEnabled() {
+                return false;
+            }
+        };
+        final Map<String, Callable<String>> candidates = new LinkedHashMap<>();
+        candidates.put("first", () -> "other");
+        candidates.put("second", () -> "control");
+
+        // When
+        scientist.execute(() -> "control", () -> "control");
+        scientist.execute(() -> "control", candidates);
+        scientist.execute(() -> "control", candidates);
+
+        // Then
+        assertThat(scientist.comparisons().total()).isEqualTo(1);
+        assertThat(scientist.comparisons().matches()).isEqualTo(1);
+        assertThat(scientist.candidateLatencies().snapshot().count()).isEqualTo(1);
+        assertThat(scientist.comparisons("first").mismatches()).isEqualTo(2);
+        assertThat(scientist.comparisons("second").matches()).isEqualTo(2);
+        assertThat(scientist.candidateLatencies("second").snapshot().count()).isEqualTo(2);
+        assertThat(scientist.comparisons("second")).isSameInstanceAs(scientist.comparisons("second"));
+        assertThat(scientist.comparisons("unknown").total()).isEqualTo(0);
+        assertThat(scientist.candidateLatencies("unknown").snapshot().count()).isEqualTo(0);
+        // Unknown names are not stored
+        assertThat(scientist.comparisons("unknown")).isNotSameInstanceAs(scientist.comparisons("unknown"));
+        assertThat(scientist.candidateLatencies("unknown")).isNotSameInstanceAs(scientist.candidateLatencies("unknown"));
+    }
+
+    @Test
+    public void null_candidate_statistics() {
+        final Experiment<String> scientist = new Experiment<>();
+        final IllegalArgumentException latencies = assertThrows(IllegalArgumentException.class, () -> scientist.candidateLatencies(null));
+        final IllegalArgumentException comparisons = assertThrows(IllegalArgumentException.class, () -> scientist.comparisons(null));
+        assertThat(latencies.getMessage()).isEqualTo("Candidate must be provided");
+        assertThat(comparisons.getMessage()).isEqualTo("Candidate must be provided");
+    }
+
+    @Test
+    public void asynchronous_named_candidates_in_parallel() throws Exception {
+
+        // Given
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        final CountDownLatch published = new CountDownLatch(1);
+        final CountDownLatch running = new CountDownLatch(2);
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final Experiment<String> scientist = new Experiment<String>("parallel", executor) {
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+                published.countDown();
+            }
+        };
+        final Map<String, Callable<String>> candidates = new LinkedHashMap<>();
+        candidates.put("first", () -> {running.countDown(); running.await(5, TimeUnit.SECONDS); return "control";});
+        candidates.put("second", () -> {running.countDown(); running.await(5, TimeUnit.SECONDS); return "other";});
+
+        // When
+        final String result = scientist.execute(() -> "control", candidates);
+
+        // Then
+        assertThat(result).isEqualTo("control");
+        assertThat(published.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(running.getCount()).isEqualTo(0);
+        final Result<String> publishedResult = resultReference.get();
+        assertThat(publishedResult.comparisons()).containsExactly("first", Comparison.MATCH, "second", Comparison.MISMATCH);
+        assertThat(publishedResult.candidateObservations().get("second").value()).isEqualTo("other");
+        executor.shutdown();
+    }
+
+    @Test
+    public void named_candidates_publish_only_mismatches() throws Exception {
+
+        // Given
+        final AtomicInteger publications = new AtomicInteger();
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected boolean publishOnlyMismatches() {
+                return true;
+            }
+            @Override
+            protected void publish(final Result result) {
+                publications.incrementAndGet();
+            }
+        };
+        final Map<String, Callable<String>> matching = new LinkedHashMap<>();
+        matching.put("first", () -> "control");
+        matching.put("second", () -> "control");
+        final Map<String, Callable<String>> mismatching = new LinkedHashMap<>(matching);
+        mismatching.put("third", () -> "other");
+
+        // When
+        scientist.execute(() -> "control", matching);
+        scientist.execute(() -> "control", mismatching);
+
+        // Then
+        assertThat(publications.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void single_candidate_is_named() throws Exception {
+
+        // Given
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final Experiment<String> scientist = new Experiment<String>() {
+            @Override
+            protected void publish(final Result result) {
+                resultReference.set(result);
+            }
+        };
+
+        // When
+        scientist.execute(() -> "control", () -> "candidate");
+
+        // Then
+        assertThat(resultReference.get().candidateObservations().keySet()).containsExactly(Result.CANDIDATE);
+        assertThat(resultReference.get().comparisons()).containsExactly(Result.CANDIDATE, Comparison.MISMATCH);
+    }
+
+    @Test
+    public void null_named_candidates() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> new Experiment<String>().execute(() -> "control", (Map<String, Callable<String>>) null));
+        assertThat(ex.getMessage()).isEqualTo("Candidates must be provided");
+    }
 }
@@ -0,0 +1,250 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor.scientist;
+
+import static com.google.common.truth.Truth.assertThat;
+import io.misterspex.executor.VirtualThreads;
+import io.misterspex.executor.scientist.Publisher.OverflowPolicy;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class PublisherTest {
+
+    @Test
+    public void publish_on_consumer_thread() throws Exception {
+        // Given
+        final AtomicReference<String> threadName = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        try (final Publisher publisher = new Publisher("publisher", 16, OverflowPolicy.DROP)) {
+            final Experiment<String> scientist = new Experiment<String>("sync", Collections.emptyMap(), publisher) {
+                @Override
+                protected void publish(final Result result) {
+                    threadName.set(Thread.currentThread().getName());
+                    latch.countDown();
+                }
+            };
+
+            // When
+            final String result = scientist.execute(() -> "control", () -> "candidate");
+
+            // Then
+            assertThat(result).isEqualTo("control");
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(threadName.get()).isEqualTo("publisher-0");
+        }
+    }
+
+    @Test
+    public void asynchronous_publish_on_consumer_thread() throws Exception {
+        // Given
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        final AtomicReference<Result> resultReference = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        try (final Publisher publisher = new Publisher("publisher", 16, OverflowPolicy.BLOCK)) {
+            final Experiment<String> scientist = new Experiment<String>("async", Collections.emptyMap(), executorService, publisher) {
+                @Override
+                protected void publish(final Result result) {
+                    resultReference.set(result);
+                    latch.countDown();
+                }
+            };
+
+            // When
+            final String result = scientist.execute(() -> "control", () -> "candidate");
+
+            // Then
+            assertThat(result).isEqualTo("control");
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            final Observation<String> candidate = (Observation<String>) resultReference.get().candidateObservation().get();
+            assertThat(candidate.value()).isEqualTo("candidate");
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void virtual_threads_publish() throws Exception {
+        // Given
+        final ExecutorService executorService = VirtualThreads.newExecutorService();
+        final AtomicReference<String> threadName = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        try (final Publisher publisher = new Publisher(16, OverflowPolicy.BLOCK, 1, VirtualThreads.threadFactory("virtual-publisher"))) {
+            final Experiment<String> scientist = new Experiment<String>("virtual", Collections.emptyMap(), executorService, publisher) {
+                @Override
+                protected void publish(final Result result) {
+                    threadName.set(Thread.currentThread().getName());
+                    latch.countDown();
+                }
+            };
+
+            // When
+            final String result = scientist.execute(() -> "control", () -> "candidate");
+
+            // Then
+            assertThat(result).isEqualTo("control");
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(threadName.get()).isEqualTo("virtual-publisher-0");
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void drop_if_full() throws Exception {
+        // Given
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Publisher publisher = new Publisher("publisher", 2, OverflowPolicy.DROP);
+        final Experiment<String> scientist = new Experiment<String>("sync", Collections.emptyMap(), publisher) {
+            @Override
+            protected void publish(final Result result) {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        // When
+        scientist.execute(() -> "control", () -> "candidate");
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        scientist.execute(() -> "control", () -> "candidate");
+        scientist.execute(() -> "control", () -> "candidate");
+        scientist.execute(() -> "control", () -> "candidate");
+        release.countDown();
+        publisher.close();
+
+        // Then
+        assertThat(publisher.published()).isEqualTo(3);
+        assertThat(publisher.dropped()).isEqualTo(1);
+        assertThat(publisher.pending()).isEqualTo(0);
+    }
+
+    @Test
+    public void drop_after_close() throws Exception {
+        // Given
+        final Publisher publisher = new Publisher("publisher", 4, OverflowPolicy.SAMPLE);
+        final Experiment<String> scientist = new Experiment<>("sync", Collections.emptyMap(), publisher);
+        publisher.close();
+
+        // When
+        final String result = scientist.execute(() -> "control", () -> "candidate");
+
+        // Then
+        assertThat(result).isEqualTo("control");
+        assertThat(publisher.dropped()).isEqualTo(1);
+    }
+
+    @Test
+    public void illegal_consumers() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> new Publisher("publisher", 4, OverflowPolicy.DROP, 0));
+        assertThat(ex.getMessage()).startsWith("Consumers must be > 0");
+    }
+
+    @Test
+    public void error_in_publish_keeps_consumer() throws Exception {
+        // Given
+        final AtomicReference<Throwable> uncaught = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable, "publisher");
+            thread.setDaemon(true);
+            thread.setUncaughtExceptionHandler((t, e) -> uncaught.set(e));
+            return thread;
+        };
+        try (final Publisher publisher = new Publisher(4, OverflowPolicy.BLOCK, 1, threadFactory)) {
+            final AtomicInteger calls = new AtomicInteger();
+            final Experiment<String> scientist = new Experiment<String>("sync", Collections.emptyMap(), publisher) {
+                @Override
+                protected void publish(final Result result) {
+                    if (calls.incrementAndGet() == 1) {
+                        throw new AssertionError("publish");
+                    }
+                    latch.countDown();
+                }
+            };
+
+            // When
+            scientist.execute(() -> "control", () -> "candidate");
+            scientist.execute(() -> "control", () -> "candidate");
+
+            // Then
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(uncaught.get()).hasMessageThat().isEqualTo("publish");
+        }
+    }
+
+    @Test
+    public void idle_consumer_parks_until_offer() throws Exception {
+        // Given
+        final AtomicReference<Thread> consumer = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable, "publisher");
+            thread.setDaemon(true);
+            consumer.set(thread);
+            return thread;
+        };
+        try (final Publisher publisher = new Publisher(4, OverflowPolicy.DROP, 1, threadFactory)) {
+            final Experiment<String> scientist = new Experiment<String>("sync", Collections.emptyMap(), publisher) {
+                @Override
+                protected void publish(final Result result) {
+                    latch.countDown();
+                }
+            };
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (consumer.get().getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertThat(consumer.get().getState()).isEqualTo(Thread.State.WAITING);
+
+            // When
+            scientist.execute(() -> "control", () -> "candidate");
+
+            // Then
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor.scientist;
+
+import static com.google.common.truth.Truth.assertThat;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class RingBufferTest {
+
+    @Test
+    public void capacity_rounded_to_power_of_two() {
+        assertThat(new RingBuffer<>(1).capacity()).isEqualTo(2);
+        assertThat(new RingBuffer<>(3).capacity()).isEqualTo(4);
+        assertThat(new RingBuffer<>(8).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    public void illegal_capacity() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(0));
+        assertThat(ex.getMessage()).startsWith("Capacity must be > 0");
+    }
+
+    @Test
+    public void offer_until_full_and_poll_in_order() {
+        // Given
+        final RingBuffer<Integer> buffer = new RingBuffer<>(2);
+
+        // When
+        final boolean first = buffer.offer(1);
+        final boolean second = buffer.offer(2);
+        final boolean third = buffer.offer(3);
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(buffer.size()).isEqualTo(2);
+        assertThat(buffer.poll()).isEqualTo(1);
+        assertThat(buffer.offer(3)).isTrue();
+        assertThat(buffer.poll()).isEqualTo(2);
+        assertThat(buffer.poll()).isEqualTo(3);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void concurrent_producers() throws Exception {
+        // Given
+        final RingBuffer<Integer> buffer = new RingBuffer<>(4096);
+        final Thread[] producers = new Thread[4];
+        for (int i = 0; i < producers.length; i++) {
+            producers[i] = new Thread(() -> {for (int j = 0; j < 1000; j++) {buffer.offer(j);}});
+        }
+
+        // When
+        for (final Thread producer : producers) {
+            producer.start();
+        }
+        for (final Thread producer : producers) {
+            producer.join();
+        }
+
+        // Then
+        int count = 0;
+        while (buffer.poll() != null) {
+            count++;
+        }
+        assertThat(count).isEqualTo(4000);
+    }
+}
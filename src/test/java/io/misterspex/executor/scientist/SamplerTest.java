@@ -0,0 +1,123 @@
+/* Mister Spex Executor
+ * Copyright 2020 Mister Spex GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * or
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package io.misterspex.executor.scientist;
+
+import static com.google.common.truth.Truth.assertThat;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author sascha.kohlmann
+ */
+public class SamplerTest {
+
+    @Test
+    public void always() {
+        assertThat(Sampler.always().sample()).isTrue();
+    }
+
+    @Test
+    public void percentage_bounds() {
+        // Given
+        final Sampler never = Sampler.percentage(0.0);
+        final Sampler always = Sampler.percentage(100.0);
+
+        // Then
+        for (int i = 0; i < 100; i++) {
+            assertThat(never.sample()).isFalse();
+            assertThat(always.sample()).isTrue();
+        }
+    }
+
+    @Test
+    public void percentage_illegal() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> Sampler.percentage(100.1));
+        assertThat(ex.getMessage()).startsWith("Percent must be >= 0.0 and <= 100.0");
+    }
+
+    @Test
+    public void rate_limited_burst() {
+        // Given
+        final Sampler sampler = Sampler.rateLimited(10);
+        int sampled = 0;
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            if (sampler.sample()) {
+                sampled++;
+            }
+        }
+
+        // Then
+        assertThat(sampled).isAtLeast(10);
+        assertThat(sampled).isLessThan(12);
+    }
+
+    @Test
+    public void rate_limited_illegal() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> Sampler.rateLimited(0));
+        assertThat(ex.getMessage()).startsWith("Permits per second must be > 0");
+    }
+
+    @Test
+    public void adaptive_backs_off() throws Exception {
+        // Given
+        final Samplers.Adaptive sampler = new Samplers.Adaptive(10.0, 0.1, TimeUnit.MILLISECONDS.toNanos(50));
+
+        // When
+        sampler.record(true, 2_000);
+        sampler.record(false, 1_000);
+        Thread.sleep(60);
+        sampler.record(false, 1_000);
+
+        // Then
+        assertThat(sampler.percent()).isEqualTo(5.0);
+    }
+
+    @Test
+    public void adaptive_recovers() throws Exception {
+        // Given
+        final Samplers.Adaptive sampler = new Samplers.Adaptive(10.0, 0.1, TimeUnit.MILLISECONDS.toNanos(50));
+        sampler.record(true, 2_000);
+        Thread.sleep(60);
+        sampler.record(false, 1_000);
+
+        // When
+        sampler.record(true, 1_000);
+        Thread.sleep(60);
+        sampler.record(false, 1_000);
+
+        // Then
+        assertThat(sampler.percent()).isEqualTo(6.0);
+    }
+}